@@ -0,0 +1,86 @@
+package dev.lukaesebrot.pipe.benchmarks;
+
+import dev.lukaesebrot.pipe.command.Argument;
+import dev.lukaesebrot.pipe.command.Arguments;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the typed parsing of single arguments, including invalid inputs
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ArgumentParsingBenchmark {
+
+    // Define the parsed input
+    @Param({"42", "-9000000000", "3.14159", "not_a_number", "diamond_sword"})
+    private String input;
+
+    // Define the argument wrapping the input
+    private String[] tokens;
+
+    @Setup
+    public void setup() {
+        tokens = new String[]{input};
+    }
+
+    /**
+     * Creates a fresh argument for every invocation so memoized results are not measured
+     *
+     * @return The argument wrapping the input
+     */
+    private Argument argument() {
+        return new Arguments(tokens, 0).asSingle();
+    }
+
+    @Benchmark
+    public Object asInteger() {
+        return argument().asInteger();
+    }
+
+    @Benchmark
+    public Object asOptionalInt() {
+        return argument().asOptionalInt();
+    }
+
+    @Benchmark
+    public int asIntOr() {
+        return argument().asIntOr(-1);
+    }
+
+    @Benchmark
+    public Object asLong() {
+        return argument().asLong();
+    }
+
+    @Benchmark
+    public Object asDouble() {
+        return argument().asDouble();
+    }
+
+    @Benchmark
+    public Object asEnumElement() {
+        return argument().asEnumElement(Material.class);
+    }
+
+}
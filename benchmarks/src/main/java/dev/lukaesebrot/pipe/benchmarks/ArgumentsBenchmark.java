@@ -0,0 +1,55 @@
+package dev.lukaesebrot.pipe.benchmarks;
+
+import dev.lukaesebrot.pipe.command.Arguments;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation and splitting of command arguments
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ArgumentsBenchmark {
+
+    // Define the parsed command line
+    private final String line = "give Notch diamond_sword 64 with a very long trailing message";
+    private final String[] tokens = line.split(" ");
+
+    @Benchmark
+    public Object fromString() {
+        return new Arguments(line).getArguments();
+    }
+
+    @Benchmark
+    public Object fromTokens() {
+        return new Arguments(tokens, 1).getArguments();
+    }
+
+    @Benchmark
+    public Object rawFromTokens() {
+        return new Arguments(tokens, 1).raw();
+    }
+
+    @Benchmark
+    public Object singleFromTokens() {
+        return new Arguments(tokens, 1).asSingle();
+    }
+
+}
@@ -0,0 +1,132 @@
+package dev.lukaesebrot.pipe.benchmarks;
+
+import dev.lukaesebrot.pipe.command.Arguments;
+import dev.lukaesebrot.pipe.command.CaseSensitivityPolicy;
+import dev.lukaesebrot.pipe.command.Command;
+import dev.lukaesebrot.pipe.command.CommandBuilder;
+import dev.lukaesebrot.pipe.command.ExecutionHandler;
+import dev.lukaesebrot.pipe.testing.StubServer;
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the dispatch of command lines through deep and wide command trees
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DispatchBenchmark {
+
+    // Define the depth of the deep tree and the width of the wide tree
+    private static final int DEPTH = 8;
+    private static final int WIDTH = 64;
+
+    // Define the command trees
+    private Command deep;
+    private Command wide;
+    private Command wideInsensitive;
+
+    // Define the dispatched arguments
+    private String[] deepArguments;
+    private String[] wideArguments;
+    private String[] wideAliasArguments;
+    private String[] wideInsensitiveArguments;
+
+    // Define the sender of the commands
+    private CommandSender sender;
+
+    // Define the sink every handler consumes its arguments into
+    private Blackhole blackhole;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        StubServer.install();
+        this.blackhole = blackhole;
+        sender = StubServer.createSender("BenchSender", "bench.use");
+
+        // Build a chain of nested sub commands
+        Command current = new CommandBuilder("level" + DEPTH).addHandler(handler()).build();
+        deepArguments = new String[DEPTH];
+        deepArguments[DEPTH - 1] = "level" + DEPTH;
+        for (int level = DEPTH - 1; level >= 1; level--) {
+            current = new CommandBuilder("level" + level).addSubCommand(current).build();
+            deepArguments[level - 1] = "level" + level;
+        }
+        deep = new CommandBuilder("deep").addPermissions("bench.use").addSubCommand(current).build();
+
+        // Build a flat command with many aliased sub commands
+        wide = buildWide(CaseSensitivityPolicy.SENSITIVE);
+        wideInsensitive = buildWide(CaseSensitivityPolicy.INSENSITIVE);
+        wideArguments = new String[]{"sub" + (WIDTH - 1), "argument"};
+        wideAliasArguments = new String[]{"alias" + (WIDTH - 1), "argument"};
+        wideInsensitiveArguments = new String[]{"SUB" + (WIDTH - 1), "argument"};
+    }
+
+    /**
+     * @param caseSensitivityPolicy The case sensitivity policy of the sub commands
+     * @return A command with {@link #WIDTH} sub commands
+     */
+    private Command buildWide(CaseSensitivityPolicy caseSensitivityPolicy) {
+        CommandBuilder builder = new CommandBuilder("wide").addPermissions("bench.use");
+        for (int index = 0; index < WIDTH; index++) {
+            builder.addSubCommand(new CommandBuilder("sub" + index)
+                    .addAliases("alias" + index)
+                    .setCaseSensitivityPolicy(caseSensitivityPolicy)
+                    .addHandler(handler())
+                    .build());
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return A handler consuming the arguments it receives
+     */
+    private ExecutionHandler handler() {
+        return new ExecutionHandler() {
+            @Override
+            public void handleExecution(Command command, CommandSender sender, Arguments arguments) {
+                blackhole.consume(arguments);
+            }
+        };
+    }
+
+    @Benchmark
+    public Object deepTree() {
+        return deep.emit(sender, deepArguments);
+    }
+
+    @Benchmark
+    public Object wideTree() {
+        return wide.emit(sender, wideArguments);
+    }
+
+    @Benchmark
+    public Object wideTreeAlias() {
+        return wide.emit(sender, wideAliasArguments);
+    }
+
+    @Benchmark
+    public Object wideTreeCaseInsensitive() {
+        return wideInsensitive.emit(sender, wideInsensitiveArguments);
+    }
+
+}
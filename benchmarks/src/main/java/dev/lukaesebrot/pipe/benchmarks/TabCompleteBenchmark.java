@@ -0,0 +1,83 @@
+package dev.lukaesebrot.pipe.benchmarks;
+
+import dev.lukaesebrot.pipe.command.ArgumentTypes;
+import dev.lukaesebrot.pipe.command.Command;
+import dev.lukaesebrot.pipe.command.CommandBuilder;
+import dev.lukaesebrot.pipe.command.ExecutionHandler;
+import dev.lukaesebrot.pipe.testing.StubServer;
+import org.bukkit.Material;
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the tab completion of sub commands and enum arguments
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TabCompleteBenchmark {
+
+    // Define the completed prefix
+    @Param({"", "s", "sub1", "sub63"})
+    private String prefix;
+
+    // Define the completed command tree
+    private Command command;
+    private CommandSender sender;
+
+    // Define the completed command lines
+    private String[] subCommandArguments;
+    private String[] enumArguments;
+
+    @Setup
+    public void setup() {
+        StubServer.install();
+        sender = StubServer.createSender("BenchSender", "bench.use");
+
+        // Build a command with many sub commands and an enum argument
+        CommandBuilder builder = new CommandBuilder("complete").addHandler(new ExecutionHandler() {
+        });
+        for (int index = 0; index < 64; index++) {
+            builder.addSubCommand(new CommandBuilder("sub" + index).addPermissions("bench.use").build());
+        }
+        builder.addSubCommand(new CommandBuilder("material")
+                .addArgument("material", ArgumentTypes.enumeration(Material.class))
+                .addHandler(new ExecutionHandler() {
+                })
+                .build());
+        command = builder.build();
+
+        subCommandArguments = new String[]{prefix};
+        enumArguments = new String[]{"material", prefix};
+    }
+
+    @Benchmark
+    public Object subCommands() {
+        return command.tabComplete(sender, "complete", subCommandArguments);
+    }
+
+    @Benchmark
+    public Object enumArgument() {
+        return command.tabComplete(sender, "complete", enumArguments);
+    }
+
+}
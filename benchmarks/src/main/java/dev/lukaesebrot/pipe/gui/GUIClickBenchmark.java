@@ -0,0 +1,80 @@
+package dev.lukaesebrot.pipe.gui;
+
+import dev.lukaesebrot.pipe.testing.StubInventoryView;
+import dev.lukaesebrot.pipe.testing.StubServer;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the handling of a single inventory click with many GUIs open at the same time.
+ * The benchmark lives in the GUI package to feed the click into an unregistered router directly.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GUIClickBenchmark {
+
+    // Define the amount of GUIs open at the same time
+    @Param({"1", "100", "1000"})
+    private int openGUIs;
+
+    // Define the router Bukkit would call for every click
+    private GUIRouter router;
+
+    // Define the dispatched click
+    private InventoryClickEvent event;
+
+    @Setup
+    public void setup() {
+        StubServer.install();
+        Player player = StubServer.createPlayer("Clicker");
+
+        // Create the GUIs
+        for (int index = 0; index < openGUIs; index++) {
+            new GUIBuilder()
+                    .setSize(54)
+                    .fill(new ItemStack(Material.STONE, 1))
+                    .set(13, new GUIButton(new ItemStack(Material.DIRT, 1), clicker -> false))
+                    .build();
+        }
+
+        router = GUIRouter.createUnregistered(null);
+
+        // Click the button of the GUI created last
+        Inventory inventory = StubServer.getLastCreatedInventory();
+        event = new InventoryClickEvent(new StubInventoryView(inventory, player), InventoryType.SlotType.CONTAINER, 13, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+    }
+
+    @Benchmark
+    public boolean clickRouted() {
+        router.handleInventoryClick(event);
+        return event.isCancelled();
+    }
+
+}
@@ -1,10 +1,13 @@
 package dev.lukaesebrot.pipe.command;
 
-import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 
-import java.util.Arrays;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a single argument
@@ -15,9 +18,22 @@ import java.util.Optional;
  */
 public class Argument {
 
+    // Define the parsing states
+    private static final byte UNPARSED = 0;
+    private static final byte VALID = 1;
+    private static final byte INVALID = 2;
+
     // Define the raw argument string
     private final String raw;
 
+    // Define the memoized parsing results
+    private byte integralState;
+    private long integralValue;
+    private byte decimalState;
+    private double decimalValue;
+    private boolean floatParsed;
+    private float floatValue;
+
     /**
      * Creates a new argument object
      *
@@ -34,17 +50,175 @@ public class Argument {
         return raw;
     }
 
+    /**
+     * Parses the argument into a long once and memoizes the result without throwing on invalid input
+     *
+     * @return Whether or not the argument is a valid long
+     */
+    private boolean parseIntegral() {
+        if (integralState == UNPARSED) {
+            integralState = INVALID;
+            int length = raw.length();
+            if (length == 0) {
+                return false;
+            }
+
+            // Check for a leading sign
+            int index = 0;
+            boolean negative = false;
+            char first = raw.charAt(0);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                if (length == 1) {
+                    return false;
+                }
+                index++;
+            }
+
+            // Accumulate the value negatively to cover the full range and detect overflows
+            long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+            long multiplicationLimit = limit / 10;
+            long result = 0;
+            for (; index < length; index++) {
+                int digit = Character.digit(raw.charAt(index), 10);
+                if (digit < 0 || result < multiplicationLimit) {
+                    return false;
+                }
+                result *= 10;
+                if (result < limit + digit) {
+                    return false;
+                }
+                result -= digit;
+            }
+            integralValue = negative ? result : -result;
+            integralState = VALID;
+        }
+        return integralState == VALID;
+    }
+
+    /**
+     * Parses the argument into a double once and memoizes the result without throwing on regular invalid input
+     *
+     * @return Whether or not the argument is a valid double
+     */
+    private boolean parseDecimal() {
+        if (decimalState == UNPARSED) {
+            if (isDecimal(raw)) {
+                decimalValue = Double.parseDouble(raw);
+                decimalState = VALID;
+            } else if (requiresFullDecimalParser(raw)) {
+                // Padded or hexadecimal input is rare enough to be left to the JDK parser
+                try {
+                    decimalValue = Double.parseDouble(raw);
+                    decimalState = VALID;
+                } catch (NumberFormatException ignored) {
+                    decimalState = INVALID;
+                }
+            } else {
+                decimalState = INVALID;
+            }
+        }
+        return decimalState == VALID;
+    }
+
+    /**
+     * Checks whether or not the given string is a decimal floating point literal accepted by {@link Double#parseDouble(String)}
+     *
+     * @param string The string to check
+     * @return Whether or not the string is a valid decimal floating point literal
+     */
+    private static boolean isDecimal(String string) {
+        int length = string.length();
+        int index = 0;
+        if (index < length && (string.charAt(index) == '-' || string.charAt(index) == '+')) {
+            index++;
+        }
+
+        // Check for the special NaN and Infinity values
+        if (string.startsWith("NaN", index)) {
+            return index + 3 == length;
+        }
+        if (string.startsWith("Infinity", index)) {
+            return index + 8 == length;
+        }
+
+        // Check the mantissa
+        int digits = 0;
+        while (index < length && isDigit(string.charAt(index))) {
+            index++;
+            digits++;
+        }
+        if (index < length && string.charAt(index) == '.') {
+            index++;
+            while (index < length && isDigit(string.charAt(index))) {
+                index++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        // Check the optional exponent
+        if (index < length && (string.charAt(index) == 'e' || string.charAt(index) == 'E')) {
+            index++;
+            if (index < length && (string.charAt(index) == '-' || string.charAt(index) == '+')) {
+                index++;
+            }
+            int exponentDigits = 0;
+            while (index < length && isDigit(string.charAt(index))) {
+                index++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        }
+
+        // Check the optional type suffix
+        if (index < length && "fFdD".indexOf(string.charAt(index)) >= 0) {
+            index++;
+        }
+        return index == length;
+    }
+
+    /**
+     * Checks whether or not the given string may be a literal not covered by {@link #isDecimal(String)}
+     *
+     * @param string The string to check
+     * @return Whether or not the string is padded with whitespace or contains a hexadecimal marker
+     */
+    private static boolean requiresFullDecimalParser(String string) {
+        return !string.isEmpty() && (string.charAt(0) <= ' ' || string.charAt(string.length() - 1) <= ' ' || string.indexOf('x') >= 0 || string.indexOf('X') >= 0);
+    }
+
+    /**
+     * @param character The character to check
+     * @return Whether or not the character is an ASCII digit
+     */
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
     /**
      * Tries to parse the argument into a short
      *
      * @return The optional parsed short
      */
     public Optional<Short> asShort() {
-        try {
-            return Optional.of(Short.parseShort(raw));
-        } catch (NumberFormatException ignored) {
-            return Optional.empty();
-        }
+        return parseIntegral() && integralValue >= Short.MIN_VALUE && integralValue <= Short.MAX_VALUE
+                ? Optional.of((short) integralValue)
+                : Optional.empty();
+    }
+
+    /**
+     * Tries to parse the argument into a short
+     *
+     * @param fallback The value to return if the argument is no valid short
+     * @return The parsed short or the fallback value
+     */
+    public short asShortOr(short fallback) {
+        return parseIntegral() && integralValue >= Short.MIN_VALUE && integralValue <= Short.MAX_VALUE ? (short) integralValue : fallback;
     }
 
     /**
@@ -53,11 +227,30 @@ public class Argument {
      * @return The optional parsed integer
      */
     public Optional<Integer> asInteger() {
-        try {
-            return Optional.of(Integer.parseInt(raw));
-        } catch (NumberFormatException ignored) {
-            return Optional.empty();
-        }
+        return parseIntegral() && integralValue >= Integer.MIN_VALUE && integralValue <= Integer.MAX_VALUE
+                ? Optional.of((int) integralValue)
+                : Optional.empty();
+    }
+
+    /**
+     * Tries to parse the argument into a primitive integer
+     *
+     * @return The optional parsed integer
+     */
+    public OptionalInt asOptionalInt() {
+        return parseIntegral() && integralValue >= Integer.MIN_VALUE && integralValue <= Integer.MAX_VALUE
+                ? OptionalInt.of((int) integralValue)
+                : OptionalInt.empty();
+    }
+
+    /**
+     * Tries to parse the argument into an integer
+     *
+     * @param fallback The value to return if the argument is no valid integer
+     * @return The parsed integer or the fallback value
+     */
+    public int asIntOr(int fallback) {
+        return parseIntegral() && integralValue >= Integer.MIN_VALUE && integralValue <= Integer.MAX_VALUE ? (int) integralValue : fallback;
     }
 
     /**
@@ -66,11 +259,26 @@ public class Argument {
      * @return The optional parsed long
      */
     public Optional<Long> asLong() {
-        try {
-            return Optional.of(Long.parseLong(raw));
-        } catch (NumberFormatException ignored) {
-            return Optional.empty();
-        }
+        return parseIntegral() ? Optional.of(integralValue) : Optional.empty();
+    }
+
+    /**
+     * Tries to parse the argument into a primitive long
+     *
+     * @return The optional parsed long
+     */
+    public OptionalLong asOptionalLong() {
+        return parseIntegral() ? OptionalLong.of(integralValue) : OptionalLong.empty();
+    }
+
+    /**
+     * Tries to parse the argument into a long
+     *
+     * @param fallback The value to return if the argument is no valid long
+     * @return The parsed long or the fallback value
+     */
+    public long asLongOr(long fallback) {
+        return parseIntegral() ? integralValue : fallback;
     }
 
     /**
@@ -79,11 +287,28 @@ public class Argument {
      * @return The optional parsed float
      */
     public Optional<Float> asFloat() {
-        try {
-            return Optional.of(Float.parseFloat(raw));
-        } catch (NumberFormatException ignored) {
-            return Optional.empty();
+        return parseDecimal() ? Optional.of(floatValue()) : Optional.empty();
+    }
+
+    /**
+     * Tries to parse the argument into a float
+     *
+     * @param fallback The value to return if the argument is no valid float
+     * @return The parsed float or the fallback value
+     */
+    public float asFloatOr(float fallback) {
+        return parseDecimal() ? floatValue() : fallback;
+    }
+
+    /**
+     * @return The memoized float value of the already validated argument
+     */
+    private float floatValue() {
+        if (!floatParsed) {
+            floatValue = Float.parseFloat(raw);
+            floatParsed = true;
         }
+        return floatValue;
     }
 
     /**
@@ -92,11 +317,26 @@ public class Argument {
      * @return The optional parsed double
      */
     public Optional<Double> asDouble() {
-        try {
-            return Optional.of(Double.parseDouble(raw));
-        } catch (NumberFormatException ignored) {
-            return Optional.empty();
-        }
+        return parseDecimal() ? Optional.of(decimalValue) : Optional.empty();
+    }
+
+    /**
+     * Tries to parse the argument into a primitive double
+     *
+     * @return The optional parsed double
+     */
+    public OptionalDouble asOptionalDouble() {
+        return parseDecimal() ? OptionalDouble.of(decimalValue) : OptionalDouble.empty();
+    }
+
+    /**
+     * Tries to parse the argument into a double
+     *
+     * @param fallback The value to return if the argument is no valid double
+     * @return The parsed double or the fallback value
+     */
+    public double asDoubleOr(double fallback) {
+        return parseDecimal() ? decimalValue : fallback;
     }
 
     /**
@@ -105,7 +345,7 @@ public class Argument {
      * @return The optional player
      */
     public Optional<Player> asPlayer() {
-        return Optional.ofNullable(Bukkit.getPlayer(raw));
+        return PlayerIndex.get(raw);
     }
 
     /**
@@ -114,7 +354,16 @@ public class Argument {
      * @return The optional player
      */
     public Optional<Player> asPlayerExact() {
-        return Optional.ofNullable(Bukkit.getPlayerExact(raw));
+        return PlayerIndex.getExact(raw);
+    }
+
+    /**
+     * Tries to resolve a player who has played on the server before with the exact name of the current argument
+     *
+     * @return The future completing with the optional player
+     */
+    public CompletableFuture<Optional<OfflinePlayer>> asOfflinePlayer() {
+        return PlayerIndex.resolveOffline(raw);
     }
 
     /**
@@ -125,9 +374,7 @@ public class Argument {
      * @return The optional enum element
      */
     public <T extends Enum<?>> Optional<T> asEnumElement(Class<T> enumClass) {
-        return Arrays.stream(enumClass.getEnumConstants())
-                .filter(value -> value.toString().toUpperCase().equals(raw.toUpperCase()))
-                .findFirst();
+        return EnumLookup.of(enumClass).find(raw);
     }
 
 }
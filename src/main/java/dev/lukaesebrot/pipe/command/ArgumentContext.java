@@ -0,0 +1,80 @@
+package dev.lukaesebrot.pipe.command;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Represents the typed values of the declared arguments of a command
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class ArgumentContext {
+
+    // Define the context of commands without declared arguments
+    static final ArgumentContext EMPTY = new ArgumentContext(Map.of(), new Object[0]);
+
+    // Define local variables
+    private final Map<String, Integer> indices;
+    private final Object[] values;
+
+    /**
+     * Creates a new argument context
+     *
+     * @param indices The indices of the values keyed by the names of the arguments
+     * @param values  The parsed values
+     */
+    ArgumentContext(Map<String, Integer> indices, Object[] values) {
+        this.indices = indices;
+        this.values = values;
+    }
+
+    /**
+     * Resolves the index of a declared argument
+     *
+     * @param name The name of the argument
+     * @return The index of the argument
+     */
+    private int indexOf(String name) {
+        Integer index = indices.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("the argument '" + name + "' is not declared");
+        }
+        return index;
+    }
+
+    /**
+     * Retrieves the value of a declared argument
+     *
+     * @param name The name of the argument
+     * @param <T>  The type of the argument
+     * @return The value of the argument or null if an optional argument without a default value got omitted
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String name) {
+        return (T) values[indexOf(name)];
+    }
+
+    /**
+     * Retrieves the optional value of a declared argument
+     *
+     * @param name The name of the argument
+     * @param <T>  The type of the argument
+     * @return The optional value of the argument
+     */
+    public <T> Optional<T> getOptional(String name) {
+        return Optional.ofNullable(get(name));
+    }
+
+    /**
+     * Checks whether or not a declared argument has a value
+     *
+     * @param name The name of the argument
+     * @return Whether or not the argument has a value
+     */
+    public boolean has(String name) {
+        return values[indexOf(name)] != null;
+    }
+
+}
@@ -0,0 +1,64 @@
+package dev.lukaesebrot.pipe.command;
+
+/**
+ * Represents an error which occurred while parsing the declared arguments of a command
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class ArgumentError {
+
+    // Define local variables
+    private final String argumentName;
+    private final String input;
+    private final String expected;
+
+    /**
+     * Creates a new argument error
+     *
+     * @param argumentName The name of the affected argument or null if too many arguments were given
+     * @param input        The invalid input or null if the argument is missing
+     * @param expected     The description of the expected input
+     */
+    public ArgumentError(String argumentName, String input, String expected) {
+        this.argumentName = argumentName;
+        this.input = input;
+        this.expected = expected;
+    }
+
+    /**
+     * @return The name of the affected argument or null if too many arguments were given
+     */
+    public String getArgumentName() {
+        return argumentName;
+    }
+
+    /**
+     * @return The invalid input or null if the argument is missing
+     */
+    public String getInput() {
+        return input;
+    }
+
+    /**
+     * @return The description of the expected input
+     */
+    public String getExpected() {
+        return expected;
+    }
+
+    /**
+     * @return The human readable error message
+     */
+    public String getMessage() {
+        if (argumentName == null) {
+            return "Too many arguments: '" + input + "' was not expected.";
+        }
+        if (input == null) {
+            return "Missing argument <" + argumentName + ">: expected " + expected + ".";
+        }
+        return "Invalid argument <" + argumentName + ">: '" + input + "' is no valid " + expected + ".";
+    }
+
+}
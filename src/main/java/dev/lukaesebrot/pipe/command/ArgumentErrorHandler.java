@@ -0,0 +1,34 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * Represents a handler getting called whenever the declared arguments of a command could not be parsed
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ArgumentErrorHandler {
+
+    /**
+     * The argument error handler used if neither the command nor one of its parents define one
+     */
+    ArgumentErrorHandler DEFAULT = (command, sender, error) -> {
+        sender.sendMessage("§c" + error.getMessage());
+        if (!command.getUsage().isEmpty()) {
+            sender.sendMessage("§cUsage: " + command.getUsage());
+        }
+    };
+
+    /**
+     * Gets called whenever the declared arguments of a command could not be parsed
+     *
+     * @param command The command whose arguments could not be parsed
+     * @param sender  The sender which sent the command
+     * @param error   The error which occurred
+     */
+    void handleArgumentError(Command command, CommandSender sender, ArgumentError error);
+
+}
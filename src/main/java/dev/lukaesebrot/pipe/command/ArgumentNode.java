@@ -0,0 +1,61 @@
+package dev.lukaesebrot.pipe.command;
+
+/**
+ * Represents a declared command argument
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class ArgumentNode {
+
+    // Define local variables
+    private final String name;
+    private final ArgumentType<?> type;
+    private final boolean optional;
+    private final Object defaultValue;
+
+    /**
+     * Creates a new argument node
+     *
+     * @param name         The name of the argument
+     * @param type         The type of the argument
+     * @param optional     Whether or not the argument may be omitted
+     * @param defaultValue The value to use if the argument got omitted
+     */
+    ArgumentNode(String name, ArgumentType<?> type, boolean optional, Object defaultValue) {
+        this.name = name;
+        this.type = type;
+        this.optional = optional;
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * @return The name of the argument
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return The type of the argument
+     */
+    ArgumentType<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return Whether or not the argument may be omitted
+     */
+    boolean isOptional() {
+        return optional;
+    }
+
+    /**
+     * @return The value to use if the argument got omitted
+     */
+    Object getDefaultValue() {
+        return defaultValue;
+    }
+
+}
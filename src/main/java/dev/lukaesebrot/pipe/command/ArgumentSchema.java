@@ -0,0 +1,128 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the compiled parser of the declared arguments of a command
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class ArgumentSchema {
+
+    // Define local variables
+    private final ArgumentNode[] nodes;
+    private final Map<String, Integer> indices;
+    private final int required;
+    private final boolean greedy;
+
+    /**
+     * Compiles a new argument schema
+     *
+     * @param nodes The declared arguments in their order
+     */
+    ArgumentSchema(ArgumentNode[] nodes) {
+        Map<String, Integer> indices = new HashMap<>();
+        int required = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            ArgumentNode node = nodes[i];
+
+            // Validate the order of the declared arguments
+            if (indices.putIfAbsent(node.getName(), i) != null) {
+                throw new IllegalStateException("the argument '" + node.getName() + "' is declared twice");
+            }
+            if (node.getType().isGreedy() && i != nodes.length - 1) {
+                throw new IllegalStateException("the greedy argument '" + node.getName() + "' has to be the last one");
+            }
+            if (node.isOptional()) {
+                continue;
+            }
+            if (required != i) {
+                throw new IllegalStateException("the required argument '" + node.getName() + "' follows an optional one");
+            }
+            required++;
+        }
+        this.nodes = nodes;
+        this.indices = Map.copyOf(indices);
+        this.required = required;
+        this.greedy = nodes.length != 0 && nodes[nodes.length - 1].getType().isGreedy();
+    }
+
+    /**
+     * Validates and converts the given arguments in a single pass
+     *
+     * @param arguments The arguments to parse
+     * @param values    The array to write the parsed values to, sized to the amount of declared arguments
+     * @return The error which occurred or null if the arguments are valid
+     */
+    ArgumentError parse(Arguments arguments, Object[] values) {
+        int size = arguments.size();
+        if (size > nodes.length && !greedy) {
+            return new ArgumentError(null, arguments.get(nodes.length).map(Argument::raw).orElse(""), null);
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            ArgumentNode node = nodes[i];
+            ArgumentType<?> type = node.getType();
+
+            // Use the default value for omitted arguments
+            if (i >= size) {
+                if (i < required) {
+                    return new ArgumentError(node.getName(), null, type.describe());
+                }
+                values[i] = node.getDefaultValue();
+                continue;
+            }
+
+            // Parse the provided argument
+            Argument argument = type.isGreedy() ? new Argument(arguments.rawFrom(i)) : arguments.get(i).orElseThrow();
+            Object value = type.parse(argument);
+            if (value == null) {
+                return new ArgumentError(node.getName(), argument.raw(), type.describe());
+            }
+            values[i] = value;
+        }
+        return null;
+    }
+
+    /**
+     * Creates the context holding the values parsed by {@link #parse(Arguments, Object[])}
+     *
+     * @param values The parsed values
+     * @return The created argument context
+     */
+    ArgumentContext createContext(Object[] values) {
+        return new ArgumentContext(indices, values);
+    }
+
+    /**
+     * @return The amount of declared arguments
+     */
+    int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Collects the tab completions for the last of the given arguments without parsing the preceding ones
+     *
+     * @param sender The sender of the tab completion event
+     * @param args   The arguments the sender specified
+     * @return A list of tab completions
+     */
+    List<String> complete(CommandSender sender, String[] args) {
+        int index = Math.max(args.length - 1, 0);
+        if (index >= nodes.length) {
+            if (!greedy) {
+                return new ArrayList<>();
+            }
+            index = nodes.length - 1;
+        }
+        return nodes[index].getType().complete(sender, args.length != 0 ? args[args.length - 1] : "");
+    }
+
+}
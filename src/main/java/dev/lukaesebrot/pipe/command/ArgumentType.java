@@ -0,0 +1,102 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.CommandSender;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the type of a declared command argument
+ *
+ * @param <T> The type of the parsed values
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface ArgumentType<T> {
+
+    /**
+     * Validates and converts an argument
+     *
+     * @param argument The argument to parse
+     * @return The parsed value or null if the argument is invalid
+     */
+    T parse(Argument argument);
+
+    /**
+     * @return The human readable description of the expected input, used in error messages
+     */
+    String describe();
+
+    /**
+     * Checks whether or not the argument consumes the whole rest of the input
+     *
+     * @return Whether or not the argument is greedy
+     */
+    default boolean isGreedy() {
+        return false;
+    }
+
+    /**
+     * Collects the tab completions for a partially typed argument
+     *
+     * @param sender The sender of the tab completion event
+     * @param prefix The partially typed argument
+     * @return A list of tab completions
+     */
+    default List<String> complete(CommandSender sender, String prefix) {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Creates a copy of this argument type completing arguments using an asynchronous completion provider.
+     * Completions get cached for 10 seconds and for up to 256 prefixes.
+     *
+     * @param provider The provider to load the completions from
+     * @return The created argument type
+     */
+    default ArgumentType<T> withCompletions(CompletionProvider provider) {
+        return withCompletions(provider, Duration.ofSeconds(10), 256);
+    }
+
+    /**
+     * Creates a copy of this argument type completing arguments using an asynchronous completion provider.
+     * Tab completion never waits for the provider; until the completions of a prefix got loaded, the cached ones of a
+     * shorter prefix get used.
+     *
+     * @param provider    The provider to load the completions from
+     * @param timeToLive  The time after which cached completions get refreshed in the background
+     * @param maximumSize The maximum amount of cached prefixes
+     * @return The created argument type
+     */
+    default ArgumentType<T> withCompletions(CompletionProvider provider, Duration timeToLive, int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("the maximum size must be positive");
+        }
+        ArgumentType<T> type = this;
+        CompletionCache cache = new CompletionCache(provider, timeToLive, maximumSize);
+        return new ArgumentType<>() {
+            @Override
+            public T parse(Argument argument) {
+                return type.parse(argument);
+            }
+
+            @Override
+            public String describe() {
+                return type.describe();
+            }
+
+            @Override
+            public boolean isGreedy() {
+                return type.isGreedy();
+            }
+
+            @Override
+            public List<String> complete(CommandSender sender, String prefix) {
+                return cache.get(prefix);
+            }
+        };
+    }
+
+}
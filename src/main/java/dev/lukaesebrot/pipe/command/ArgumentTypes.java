@@ -0,0 +1,194 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Provides the built-in {@link ArgumentType}s
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class ArgumentTypes {
+
+    private ArgumentTypes() {
+    }
+
+    /**
+     * @return The type of arguments holding any integer
+     */
+    public static ArgumentType<Integer> integer() {
+        return integer(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates the type of arguments holding an integer within a specific range
+     *
+     * @param min The inclusive minimum
+     * @param max The inclusive maximum
+     * @return The created argument type
+     */
+    public static ArgumentType<Integer> integer(int min, int max) {
+        String description = min == Integer.MIN_VALUE && max == Integer.MAX_VALUE ? "integer" : "integer between " + min + " and " + max;
+        return new Simple<>(description, argument -> {
+            if (!argument.asOptionalInt().isPresent()) {
+                return null;
+            }
+            int value = argument.asIntOr(0);
+            return value >= min && value <= max ? value : null;
+        });
+    }
+
+    /**
+     * Creates the type of arguments holding a long within a specific range
+     *
+     * @param min The inclusive minimum
+     * @param max The inclusive maximum
+     * @return The created argument type
+     */
+    public static ArgumentType<Long> longInteger(long min, long max) {
+        String description = min == Long.MIN_VALUE && max == Long.MAX_VALUE ? "integer" : "integer between " + min + " and " + max;
+        return new Simple<>(description, argument -> {
+            if (!argument.asOptionalLong().isPresent()) {
+                return null;
+            }
+            long value = argument.asLongOr(0);
+            return value >= min && value <= max ? value : null;
+        });
+    }
+
+    /**
+     * @return The type of arguments holding any number
+     */
+    public static ArgumentType<Double> decimal() {
+        return new Simple<>("number", argument -> {
+            double value = argument.asDoubleOr(Double.NaN);
+            return Double.isNaN(value) ? null : value;
+        });
+    }
+
+    /**
+     * Creates the type of arguments holding a double within a specific range
+     *
+     * @param min The inclusive minimum
+     * @param max The inclusive maximum
+     * @return The created argument type
+     */
+    public static ArgumentType<Double> decimal(double min, double max) {
+        return new Simple<>("number between " + min + " and " + max, argument -> {
+            double value = argument.asDoubleOr(Double.NaN);
+            return value >= min && value <= max ? value : null;
+        });
+    }
+
+    /**
+     * @return The type of arguments holding a single word
+     */
+    public static ArgumentType<String> string() {
+        return new Simple<>("text", Argument::raw);
+    }
+
+    /**
+     * @return The type of arguments consuming the whole rest of the input
+     */
+    public static ArgumentType<String> greedyString() {
+        return new ArgumentType<>() {
+            @Override
+            public String parse(Argument argument) {
+                return argument.raw();
+            }
+
+            @Override
+            public String describe() {
+                return "text";
+            }
+
+            @Override
+            public boolean isGreedy() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Creates the type of arguments holding an element of a specific enum, ignoring case
+     *
+     * @param enumClass The class of the enum to use
+     * @param <T>       The type of the enum to use
+     * @return The created argument type
+     */
+    public static <T extends Enum<?>> ArgumentType<T> enumeration(Class<T> enumClass) {
+        EnumLookup<T> lookup = EnumLookup.of(enumClass);
+        return new ArgumentType<>() {
+            @Override
+            public T parse(Argument argument) {
+                return lookup.find(argument.raw()).orElse(null);
+            }
+
+            @Override
+            public String describe() {
+                return enumClass.getSimpleName();
+            }
+
+            @Override
+            public List<String> complete(CommandSender sender, String prefix) {
+                return lookup.complete(prefix);
+            }
+        };
+    }
+
+    /**
+     * @return The type of arguments holding the name of an online player
+     */
+    public static ArgumentType<Player> player() {
+        return new ArgumentType<>() {
+            @Override
+            public Player parse(Argument argument) {
+                return argument.asPlayer().orElse(null);
+            }
+
+            @Override
+            public String describe() {
+                return "online player";
+            }
+
+            @Override
+            public List<String> complete(CommandSender sender, String prefix) {
+                return PlayerIndex.complete(prefix);
+            }
+        };
+    }
+
+    /**
+     * Represents an argument type without completions backed by a parsing function
+     *
+     * @param <T> The type of the parsed values
+     */
+    private static final class Simple<T> implements ArgumentType<T> {
+
+        // Define local variables
+        private final String description;
+        private final Function<Argument, T> parser;
+
+        private Simple(String description, Function<Argument, T> parser) {
+            this.description = description;
+            this.parser = parser;
+        }
+
+        @Override
+        public T parse(Argument argument) {
+            return parser.apply(argument);
+        }
+
+        @Override
+        public String describe() {
+            return description;
+        }
+
+    }
+
+}
@@ -13,31 +13,108 @@ import java.util.Optional;
 public class Arguments {
 
     // Define local variables
-    private final String raw;
-    private final Argument[] arguments;
+    private final String[] source;
+    private final int offset;
+    private String raw;
+    private TokenizedLine tokens;
+    private Argument[] arguments;
+    private ArgumentContext context = ArgumentContext.EMPTY;
 
     /**
-     * Creates a new arguments object
+     * Creates a new arguments object.
+     * Arguments are separated by whitespace; quoted arguments may contain whitespace and escaped quotes.
      *
      * @param raw The raw string to parse the arguments from
      */
     public Arguments(String raw) {
         raw = raw.trim();
+        this.source = null;
+        this.offset = 0;
         this.raw = raw;
-        this.arguments = raw.isEmpty() ? new Argument[0] : Arrays.stream(raw.split("\\s+")).map(Argument::new).toArray(Argument[]::new);
+        this.tokens = new TokenizedLine(raw);
+        this.arguments = new Argument[tokens.size()];
+    }
+
+    /**
+     * Creates a new arguments object viewing the given tokens starting at a specific offset.
+     * The tokens are neither copied nor re-tokenized unless they contain whitespace or quotes; the raw string and the
+     * argument objects get computed lazily.
+     *
+     * @param source The tokens to view
+     * @param offset The index of the first token belonging to the arguments
+     */
+    public Arguments(String[] source, int offset) {
+        this.source = source;
+        this.offset = offset;
+    }
+
+    /**
+     * Checks whether or not the given token can be used as an argument as-is
+     *
+     * @param token The token to check
+     * @return Whether or not the token is non-empty, does not start with a quote and contains no whitespace
+     */
+    private static boolean isClean(String token) {
+        if (token.isEmpty() || token.charAt(0) == '"' || token.charAt(0) == '\'') {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (TokenizedLine.isWhitespace(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The lazily initialized argument array, possibly with entries not yet created
+     */
+    private Argument[] slots() {
+        if (arguments == null) {
+            boolean clean = true;
+            for (int i = offset; i < source.length && clean; i++) {
+                clean = isClean(source[i]);
+            }
+
+            // Tokens containing whitespace or quotes and empty tokens require the viewed arguments to be re-tokenized
+            if (clean) {
+                arguments = new Argument[source.length - offset];
+            } else {
+                tokens = new TokenizedLine(raw());
+                arguments = new Argument[tokens.size()];
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * Creates the argument at a specific index if it does not exist yet
+     *
+     * @param slots The initialized argument array
+     * @param index The index of the argument
+     * @return The argument
+     */
+    private Argument argumentAt(Argument[] slots, int index) {
+        if (slots[index] == null) {
+            slots[index] = new Argument(tokens != null ? tokens.value(index) : source[offset + index]);
+        }
+        return slots[index];
     }
 
     /**
      * @return All provided arguments as a single one
      */
     public Argument asSingle() {
-        return new Argument(raw);
+        return new Argument(raw());
     }
 
     /**
      * @return The raw arguments string
      */
     public String raw() {
+        if (raw == null) {
+            raw = String.join(" ", Arrays.asList(source).subList(offset, source.length)).trim();
+        }
         return raw;
     }
 
@@ -45,7 +122,66 @@ public class Arguments {
      * @return The array of parsed arguments
      */
     public Argument[] getArguments() {
-        return arguments;
+        Argument[] slots = slots();
+        for (int i = 0; i < slots.length; i++) {
+            argumentAt(slots, i);
+        }
+        return slots;
+    }
+
+    /**
+     * @return The amount of provided arguments
+     */
+    public int size() {
+        return slots().length;
+    }
+
+    /**
+     * Retrieves the rest of the raw arguments string starting at a specific argument, including quotes and the
+     * original whitespace between the arguments
+     *
+     * @param index The index of the first argument to include
+     * @return The rest of the raw arguments string or an empty string if there are no arguments left
+     */
+    public String rawFrom(int index) {
+        return rawSpan(index, size());
+    }
+
+    /**
+     * Retrieves the part of the raw arguments string covering a range of arguments, including quotes and the original
+     * whitespace between the arguments
+     *
+     * @param from The index of the first argument to include
+     * @param to   The index after the last argument to include
+     * @return The part of the raw arguments string or an empty string if the range is empty
+     */
+    public String rawSpan(int from, int to) {
+        Argument[] slots = slots();
+        from = Math.max(from, 0);
+        to = Math.min(to, slots.length);
+        if (from >= to) {
+            return "";
+        }
+        if (tokens != null) {
+            return tokens.getLine().substring(tokens.spanStart(from), tokens.spanEnd(to - 1));
+        }
+        return String.join(" ", Arrays.asList(source).subList(offset + from, offset + to));
+    }
+
+    /**
+     * @return The typed values of the arguments declared on the command
+     */
+    public ArgumentContext getContext() {
+        return context;
+    }
+
+    /**
+     * Sets the typed values of the arguments declared on the command
+     *
+     * @param context The argument context to use
+     */
+    void setContext(ArgumentContext context) {
+        this.context = context;
     }
 
     /**
@@ -55,10 +191,11 @@ public class Arguments {
      * @return The optional argument
      */
     public Optional<Argument> get(int index) {
-        if (index + 1 > arguments.length) {
+        Argument[] slots = slots();
+        if (index < 0 || index + 1 > slots.length) {
             return Optional.empty();
         }
-        return Optional.of(arguments[index]);
+        return Optional.of(argumentAt(slots, index));
     }
 
 }
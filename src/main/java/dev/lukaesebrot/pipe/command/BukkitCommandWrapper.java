@@ -0,0 +1,63 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents the Bukkit command a root command gets registered with
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class BukkitCommandWrapper extends org.bukkit.command.Command {
+
+    // Define the wrapped root command, swapped atomically by publishing a new tree
+    private volatile Command command;
+
+    /**
+     * Creates a new Bukkit command wrapper
+     *
+     * @param command The root command to wrap
+     */
+    BukkitCommandWrapper(Command command) {
+        super(command.getName(), command.getDescription(), command.getUsage(), Arrays.asList(command.getAliases()));
+        this.command = command;
+    }
+
+    /**
+     * @return The wrapped root command
+     */
+    Command getCommand() {
+        return command;
+    }
+
+    /**
+     * Publishes a new root command tree in a single volatile write.
+     * Dispatches which already started keep using the previous tree.
+     *
+     * @param command The root command to wrap instead
+     */
+    void setCommand(Command command) {
+        setDescription(command.getDescription());
+        setUsage(command.getUsage());
+        this.command = command;
+    }
+
+    @Override
+    public boolean execute(CommandSender sender, String label, String[] args) {
+        // Emit the currently wrapped command
+        command.emit(sender, args);
+
+        // Return a successful execution to not print the usage message
+        return true;
+    }
+
+    @Override
+    public List<String> tabComplete(CommandSender sender, String alias, String[] args) throws IllegalArgumentException {
+        return command.tabComplete(sender, alias, args);
+    }
+
+}
@@ -1,13 +1,18 @@
 package dev.lukaesebrot.pipe.command;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import dev.lukaesebrot.pipe.command.metrics.CommandMetrics;
+import dev.lukaesebrot.pipe.concurrent.AsyncExecutors;
+import dev.lukaesebrot.pipe.concurrent.ConcurrencyLimitedExecutor;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
 import org.bukkit.Bukkit;
-import org.bukkit.command.CommandMap;
 import org.bukkit.command.CommandSender;
 
 /**
@@ -29,6 +34,20 @@ public class Command {
     private final PermissionPolicy permissionPolicy;
     private final Command[] subCommands;
     private final ExecutionHandler[] handlers;
+    private final HandlerDispatch handlerDispatch;
+    private final ExecutionPolicy executionPolicy;
+    private final Executor executor;
+    private final DenialHandler denialHandler;
+    private final ArgumentSchema argumentSchema;
+    private final ArgumentErrorHandler argumentErrorHandler;
+    private final SenderLimiter cooldown;
+    private final SenderLimiter rateLimit;
+    private final ExecutionInterceptor[] interceptors;
+    private final SubCommandIndex subCommandIndex;
+    private final CommandMetrics metrics;
+
+    // Define the already completed stage returned by synchronous executions
+    private static final CompletionStage<Void> COMPLETED = CompletableFuture.completedStage(null);
 
     /**
      * Creates a new command object
@@ -52,6 +71,50 @@ public class Command {
                    PermissionPolicy permissionPolicy,
                    Command[] subCommands,
                    ExecutionHandler[] handlers) {
+        this(name, aliases, caseSensitivityPolicy, description, usage, permissions, permissionPolicy, subCommands, handlers,
+                ExecutionPolicy.SYNCHRONOUS, null, 0, null, new ArgumentNode[0], null, null, null, new ExecutionInterceptor[0]);
+    }
+
+    /**
+     * Creates a new command object
+     *
+     * @param name                  The name of the command
+     * @param aliases               The aliases of the command
+     * @param caseSensitivityPolicy The case sensitivity policy of the command
+     * @param description           The description of the command
+     * @param usage                 The usage of the command
+     * @param permissions           The permissions corresponding to this command
+     * @param permissionPolicy      The permission policy of this command
+     * @param subCommands           The sub commands of this command
+     * @param handlers              The execution handlers linked to this command
+     * @param executionPolicy       The execution policy of this command
+     * @param executor              The executor to run asynchronous executions on or null to use the default one
+     * @param concurrencyLimit      The maximum amount of concurrent asynchronous executions or 0 for no limit
+     * @param denialHandler         The denial handler of this command or null to inherit the one of the parent command
+     * @param argumentNodes         The declared arguments of this command
+     * @param argumentErrorHandler  The argument error handler of this command or null to inherit the one of the parent command
+     * @param cooldown              The per player cooldown of this command or null for no cooldown
+     * @param rateLimit             The per player rate limit of this command or null for no rate limit
+     * @param interceptors          The interceptors declared on this command
+     */
+    Command(String name,
+            String[] aliases,
+            CaseSensitivityPolicy caseSensitivityPolicy,
+            String description,
+            String usage,
+            String[] permissions,
+            PermissionPolicy permissionPolicy,
+            Command[] subCommands,
+            ExecutionHandler[] handlers,
+            ExecutionPolicy executionPolicy,
+            Executor executor,
+            int concurrencyLimit,
+            DenialHandler denialHandler,
+            ArgumentNode[] argumentNodes,
+            ArgumentErrorHandler argumentErrorHandler,
+            SenderLimiter cooldown,
+            SenderLimiter rateLimit,
+            ExecutionInterceptor[] interceptors) {
         this.name = name;
         this.aliases = aliases;
         this.caseSensitivityPolicy = caseSensitivityPolicy;
@@ -61,6 +124,103 @@ public class Command {
         this.permissionPolicy = permissionPolicy;
         this.subCommands = subCommands;
         this.handlers = handlers;
+        this.handlerDispatch = new HandlerDispatch(handlers);
+        this.executionPolicy = executionPolicy;
+        this.denialHandler = denialHandler;
+        this.argumentSchema = argumentNodes.length != 0 ? new ArgumentSchema(argumentNodes) : null;
+        this.argumentErrorHandler = argumentErrorHandler;
+        this.cooldown = cooldown;
+        this.rateLimit = rateLimit;
+        this.interceptors = interceptors;
+        this.subCommandIndex = new SubCommandIndex(subCommands);
+        this.metrics = new CommandMetrics();
+
+        // Resolve the executor asynchronous executions run on
+        if (executionPolicy == ExecutionPolicy.ASYNCHRONOUS) {
+            Executor resolved = executor != null ? executor : AsyncExecutors.defaultExecutor();
+            this.executor = concurrencyLimit > 0 ? new ConcurrencyLimitedExecutor(resolved, concurrencyLimit) : resolved;
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Creates a copy of a command with different sub commands, sharing everything else including the metrics
+     *
+     * @param source      The command to copy
+     * @param subCommands The sub commands of the copy
+     */
+    private Command(Command source, Command[] subCommands) {
+        this.name = source.name;
+        this.aliases = source.aliases;
+        this.caseSensitivityPolicy = source.caseSensitivityPolicy;
+        this.description = source.description;
+        this.usage = source.usage;
+        this.permissions = source.permissions;
+        this.permissionPolicy = source.permissionPolicy;
+        this.subCommands = subCommands;
+        this.handlers = source.handlers;
+        this.handlerDispatch = source.handlerDispatch;
+        this.executionPolicy = source.executionPolicy;
+        this.executor = source.executor;
+        this.denialHandler = source.denialHandler;
+        this.argumentSchema = source.argumentSchema;
+        this.argumentErrorHandler = source.argumentErrorHandler;
+        this.cooldown = source.cooldown;
+        this.rateLimit = source.rateLimit;
+        this.interceptors = source.interceptors;
+        this.subCommandIndex = new SubCommandIndex(subCommands);
+        this.metrics = source.metrics;
+    }
+
+    /**
+     * Creates a copy of this command in which the sub command with the same name as the given one is replaced by it or,
+     * if there is none, the given one is added. This command and all other sub commands stay untouched and get shared,
+     * so a changed part of a tree can be published using {@link CommandRegistry#swap(Command...)}.
+     *
+     * @param subCommand The sub command to replace or add
+     * @return The copy of this command
+     */
+    public Command withSubCommand(Command subCommand) {
+        Command[] subCommands = Arrays.copyOf(this.subCommands, this.subCommands.length + 1);
+        subCommands[subCommands.length - 1] = subCommand;
+        for (int i = 0; i < this.subCommands.length; i++) {
+            if (this.subCommands[i].name.equals(subCommand.name)) {
+                subCommands = this.subCommands.clone();
+                subCommands[i] = subCommand;
+                break;
+            }
+        }
+        return new Command(this, subCommands);
+    }
+
+    /**
+     * Creates a copy of this command without the sub command with the given name, sharing all other sub commands
+     *
+     * @param name The name of the sub command to remove
+     * @return The copy of this command
+     */
+    public Command withoutSubCommand(String name) {
+        return new Command(this, Arrays.stream(subCommands).filter(subCommand -> !subCommand.name.equals(name)).toArray(Command[]::new));
+    }
+
+    /**
+     * Appends the interceptors declared on a command to the chain collected on the way to it
+     *
+     * @param chain        The interceptors collected on the way to the command
+     * @param interceptors The interceptors declared on the command
+     * @return The extended chain
+     */
+    private static ExecutionInterceptor[] appendInterceptors(ExecutionInterceptor[] chain, ExecutionInterceptor[] interceptors) {
+        if (interceptors.length == 0) {
+            return chain;
+        }
+        if (chain.length == 0) {
+            return interceptors;
+        }
+        ExecutionInterceptor[] extended = Arrays.copyOf(chain, chain.length + interceptors.length);
+        System.arraycopy(interceptors, 0, extended, chain.length, interceptors.length);
+        return extended;
     }
 
     /**
@@ -72,16 +232,41 @@ public class Command {
     public boolean checkPermissions(CommandSender sender) {
         switch (permissionPolicy) {
             case ALL:
-                return Arrays.stream(permissions).allMatch(sender::hasPermission);
+                for (String permission : permissions) {
+                    if (!sender.hasPermission(permission)) {
+                        return false;
+                    }
+                }
+                return true;
             case ANY:
-                return Arrays.stream(permissions).anyMatch(sender::hasPermission);
+                for (String permission : permissions) {
+                    if (sender.hasPermission(permission)) {
+                        return true;
+                    }
+                }
+                return false;
             case NONE:
-                return Arrays.stream(permissions).noneMatch(sender::hasPermission);
+                for (String permission : permissions) {
+                    if (sender.hasPermission(permission)) {
+                        return false;
+                    }
+                }
+                return true;
             default:
                 return true;
         }
     }
 
+    /**
+     * Checks whether or not the dispatch has to check the permissions of senders.
+     * Commands without any permissions are executable by everyone regardless of their {@link PermissionPolicy}.
+     *
+     * @return Whether or not the command requires permission checks
+     */
+    boolean requiresPermissions() {
+        return permissions.length != 0 && permissionPolicy != PermissionPolicy.IGNORE;
+    }
+
     /**
      * @return The name of the command
      */
@@ -89,6 +274,48 @@ public class Command {
         return name;
     }
 
+    /**
+     * @return The description of the command
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return The usage of the command
+     */
+    public String getUsage() {
+        return usage;
+    }
+
+    /**
+     * @return The aliases of the command
+     */
+    public String[] getAliases() {
+        return aliases;
+    }
+
+    /**
+     * @return The case sensitivity policy of the command
+     */
+    public CaseSensitivityPolicy getCaseSensitivityPolicy() {
+        return caseSensitivityPolicy;
+    }
+
+    /**
+     * @return The execution policy of the command
+     */
+    public ExecutionPolicy getExecutionPolicy() {
+        return executionPolicy;
+    }
+
+    /**
+     * @return The invocation metrics of the command
+     */
+    public CommandMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * @return The sub commands of the command
      */
@@ -111,9 +338,68 @@ public class Command {
 
         // Check whether or not this command corresponds to the given string
         boolean ignoreCase = caseSensitivityPolicy == CaseSensitivityPolicy.INSENSITIVE;
-        boolean nameCorresponds = ignoreCase ? toCheck.equalsIgnoreCase(name) : toCheck.equals(name);
-        boolean aliasesCorrespond = Arrays.stream(aliases).anyMatch(ignoreCase ? toCheck::equalsIgnoreCase : toCheck::equals);
-        return nameCorresponds || aliasesCorrespond;
+        if (ignoreCase ? toCheck.equalsIgnoreCase(name) : toCheck.equals(name)) {
+            return true;
+        }
+        for (String alias : aliases) {
+            if (ignoreCase ? toCheck.equalsIgnoreCase(alias) : toCheck.equals(alias)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolves the sub command corresponding to the given label using the compiled sub command index
+     *
+     * @param label The label to resolve
+     * @return The optional corresponding sub command
+     */
+    public Optional<Command> getSubCommand(String label) {
+        return Optional.ofNullable(subCommandIndex.find(label));
+    }
+
+    /**
+     * Collects the names and aliases of all sub commands starting with the given prefix, ignoring case
+     *
+     * @param prefix The prefix to search for
+     * @return The sorted list of matching names and aliases
+     */
+    public List<String> completeSubCommands(String prefix) {
+        return subCommandIndex.complete(null, prefix);
+    }
+
+    /**
+     * Collects the names and aliases of all sub commands starting with the given prefix which the given sender is
+     * permitted to execute, ignoring case
+     *
+     * @param sender The sender to check the permissions of
+     * @param prefix The prefix to search for
+     * @return The sorted list of matching names and aliases
+     */
+    public List<String> completeSubCommands(CommandSender sender, String prefix) {
+        return subCommandIndex.complete(sender, prefix);
+    }
+
+    /**
+     * Collects the tab completions for the last of the given arguments using the declared arguments of the command
+     *
+     * @param sender The sender of the tab completion event
+     * @param args   The arguments the sender specified
+     * @return A list of tab completions
+     */
+    public List<String> completeArguments(CommandSender sender, String[] args) {
+        return argumentSchema != null ? argumentSchema.complete(sender, args) : new ArrayList<>();
+    }
+
+    /**
+     * Calculates how long the given sender has to wait until the cooldown of this command expires
+     *
+     * @param sender The sender to calculate the remaining cooldown of
+     * @return The remaining cooldown or {@link Duration#ZERO} if the sender may execute the command
+     */
+    public Duration getRemainingCooldown(CommandSender sender) {
+        return cooldown != null ? cooldown.getRemaining(sender) : Duration.ZERO;
     }
 
     /**
@@ -121,17 +407,127 @@ public class Command {
      *
      * @param sender    The sender which sent the command
      * @param arguments The arguments of the command
+     * @return The stage completing once all execution handlers finished
      */
-    public void emit(CommandSender sender, String[] arguments) {
-        // Check if a sub command corresponds to the given arguments and trigger it
-        Optional<Command> subCommand = Arrays.stream(subCommands).filter(command -> command.corresponds(arguments)).findFirst();
-        if (subCommand.isPresent()) {
-            subCommand.get().emit(sender, Arrays.copyOfRange(arguments, 1, arguments.length));
-            return;
+    public CompletionStage<Void> emit(CommandSender sender, String[] arguments) {
+        // Check the permissions of the sender for the current command
+        DenialHandler denialHandler = this.denialHandler != null ? this.denialHandler : DenialHandler.DEFAULT;
+        ArgumentErrorHandler argumentErrorHandler = this.argumentErrorHandler != null ? this.argumentErrorHandler : ArgumentErrorHandler.DEFAULT;
+        if (!PermissionCache.isPermitted(this, sender)) {
+            metrics.recordDenial();
+            denialHandler.handleDenial(this, sender, DenialReason.PERMISSION);
+            return COMPLETED;
+        }
+
+        // Resolve the deepest sub command corresponding to the given arguments, checking the permissions and collecting the
+        // interceptors on the way, so a sub command shared between trees always runs the interceptors of the used path
+        Command command = this;
+        ExecutionInterceptor[] chain = interceptors;
+        int depth = 0;
+        while (depth < arguments.length) {
+            Command subCommand = command.subCommandIndex.find(arguments[depth]);
+            if (subCommand == null) {
+                break;
+            }
+            if (subCommand.denialHandler != null) {
+                denialHandler = subCommand.denialHandler;
+            }
+            if (subCommand.argumentErrorHandler != null) {
+                argumentErrorHandler = subCommand.argumentErrorHandler;
+            }
+            if (!PermissionCache.isPermitted(subCommand, sender)) {
+                subCommand.metrics.recordDenial();
+                denialHandler.handleDenial(subCommand, sender, DenialReason.PERMISSION);
+                return COMPLETED;
+            }
+            chain = appendInterceptors(chain, subCommand.interceptors);
+            command = subCommand;
+            depth++;
+        }
+
+        // Parse the declared arguments on the current thread as their types may access the Bukkit API
+        Arguments parsed = new Arguments(arguments, depth);
+        ArgumentSchema schema = command.argumentSchema;
+        if (schema != null) {
+            Object[] values = new Object[schema.size()];
+            ArgumentError error = schema.parse(parsed, values);
+            if (error != null) {
+                argumentErrorHandler.handleArgumentError(command, sender, error);
+                return COMPLETED;
+            }
+            parsed.setContext(schema.createContext(values));
+        }
+
+        // Check the rate limit and cooldown of the sender, leaving the cooldown untouched if the rate limit denies
+        if (command.rateLimit != null && !command.rateLimit.tryAcquire(sender)) {
+            command.metrics.recordDenial();
+            denialHandler.handleDenial(command, sender, DenialReason.RATE_LIMIT);
+            return COMPLETED;
+        }
+        if (command.cooldown != null && !command.cooldown.tryAcquire(sender)) {
+            command.metrics.recordDenial();
+            denialHandler.handleDenial(command, sender, DenialReason.COOLDOWN);
+            return COMPLETED;
         }
 
         // Trigger all registered execution handlers
-        Arrays.stream(handlers).forEach(handler -> handler.call(this, sender, new Arguments(String.join(" ", arguments))));
+        return command.execute(sender, parsed, chain);
+    }
+
+    /**
+     * Triggers all registered execution handlers according to the local {@link ExecutionPolicy}
+     *
+     * @param sender    The sender which sent the command
+     * @param arguments The arguments of the command
+     * @param chain     The interceptors of the command and its parent commands
+     * @return The stage completing once all execution handlers finished
+     */
+    private CompletionStage<Void> execute(CommandSender sender, Arguments arguments, ExecutionInterceptor[] chain) {
+        if (executionPolicy == ExecutionPolicy.SYNCHRONOUS) {
+            callHandlers(sender, arguments, chain);
+            return COMPLETED;
+        }
+
+        // Run the handlers on the executor and log failures as nobody may observe the returned stage
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> callHandlers(sender, arguments, chain), executor);
+        future.whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                Bukkit.getLogger().log(Level.SEVERE, "Unhandled exception executing command '" + name + "'", throwable);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Calls all registered execution handlers on the current thread
+     *
+     * @param sender    The sender which sent the command
+     * @param arguments The arguments of the command
+     * @param chain     The interceptors of the command and its parent commands
+     */
+    private void callHandlers(CommandSender sender, Arguments arguments, ExecutionInterceptor[] chain) {
+        long start = System.nanoTime();
+        int passed = 0;
+        Throwable failure = null;
+        try {
+            // Call the interceptors until one of them cuts the execution short
+            while (passed < chain.length && chain[passed].beforeExecution(this, sender, arguments)) {
+                passed++;
+            }
+
+            // Call the execution handlers if every interceptor passed
+            if (passed == chain.length) {
+                handlerDispatch.dispatch(this, sender, arguments);
+            }
+        } catch (Throwable throwable) {
+            failure = throwable;
+            throw throwable;
+        } finally {
+            for (int index = passed - 1; index >= 0; index--) {
+                chain[index].afterExecution(this, sender, arguments, failure);
+            }
+            metrics.recordExecution(System.nanoTime() - start, failure != null);
+        }
     }
 
     /**
@@ -143,48 +539,46 @@ public class Command {
      * @return A list of tab completions
      */
     public List<String> tabComplete(CommandSender sender, String alias, String[] args) throws IllegalArgumentException {
-        // Check if a sub command corresponds to the given arguments and trigger it
-        Optional<Command> subCommand = Arrays.stream(subCommands).filter(command -> command.corresponds(args)).findFirst();
-        if (subCommand.isPresent()) {
-            return subCommand.get().tabComplete(sender, alias, Arrays.copyOfRange(args, 1, args.length));
+        // Do not complete anything for senders which are not permitted to execute the current command
+        if (!PermissionCache.isPermitted(this, sender)) {
+            return new ArrayList<>();
+        }
+
+        // Resolve the deepest sub command corresponding to the given arguments and check the permissions on the way
+        Command command = this;
+        int depth = 0;
+        while (depth < args.length) {
+            Command subCommand = command.subCommandIndex.find(args[depth]);
+            if (subCommand == null) {
+                break;
+            }
+            if (!PermissionCache.isPermitted(subCommand, sender)) {
+                return new ArrayList<>();
+            }
+            command = subCommand;
+            depth++;
         }
 
         // Trigger the first registered execution handler for the tab-completion
-        return handlers.length != 0 ? handlers[0].handleTabComplete(this, sender, alias, args) : Collections.emptyList();
+        if (command.handlers.length == 0) {
+            return new ArrayList<>();
+        }
+        long start = System.nanoTime();
+        try {
+            return command.handlers[0].handleTabComplete(command, sender, alias, depth == 0 ? args : Arrays.copyOfRange(args, depth, args.length));
+        } finally {
+            command.metrics.recordTabCompletion(System.nanoTime() - start);
+        }
     }
 
     /**
-     * Registers the current command as a root command
+     * Registers the current command as a root command using its own name as the fallback prefix.
+     * As before, the command tree does not get resent to the online players, so registering many commands one by one
+     * while enabling a plugin stays cheap. Use a {@link CommandRegistry} to register commands after startup, to register
+     * multiple commands at once and to unregister them later on.
      */
     public void registerAsRootCommand() {
-        CommandMap commandMap;
-        try {
-            // Obtain the Bukkit command map through reflection
-            Method getCommandMap = Bukkit.getServer().getClass().getMethod("getCommandMap");
-            commandMap = (CommandMap) getCommandMap.invoke(Bukkit.getServer());
-        } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException exception) {
-            exception.printStackTrace();
-            return;
-        }
-
-        // Register the current command using Bukkits command map
-        commandMap.register(name, new org.bukkit.command.Command(name, description, usage, Arrays.asList(aliases)) {
-
-            @Override
-            public boolean execute(CommandSender sender, String label, String[] args) {
-                // Emit the current command
-                emit(sender, args);
-
-                // Return a successful execution to not print the usage message
-                return true;
-            }
-
-            @Override
-            public List<String> tabComplete(CommandSender sender, String alias, String[] args) throws IllegalArgumentException {
-                return Command.this.tabComplete(sender, alias, args);
-            }
-
-        });
+        CommandRegistry.DEFAULT.add(this);
     }
 
 }
@@ -1,8 +1,12 @@
 package dev.lukaesebrot.pipe.command;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * Helps to build a command
@@ -23,6 +27,16 @@ public class CommandBuilder {
     private PermissionPolicy permissionPolicy;
     private final Set<Command> subCommands;
     private final Set<ExecutionHandler> handlers;
+    private ExecutionPolicy executionPolicy;
+    private Executor executor;
+    private int concurrencyLimit;
+    private DenialHandler denialHandler;
+    private final List<ArgumentNode> argumentNodes;
+    private ArgumentErrorHandler argumentErrorHandler;
+    private Duration cooldown;
+    private int rateLimitPermits;
+    private Duration rateLimitPeriod;
+    private final List<ExecutionInterceptor> interceptors;
 
     /**
      * Creates a new command builder
@@ -31,14 +45,24 @@ public class CommandBuilder {
      */
     public CommandBuilder(String name) {
         this.name = name;
-        this.aliases = new HashSet<>();
+        this.aliases = new LinkedHashSet<>();
         this.caseSensitivityPolicy = CaseSensitivityPolicy.SENSITIVE;
         this.description = "";
         this.usage = "";
-        this.permissions = new HashSet<>();
+        this.permissions = new LinkedHashSet<>();
         this.permissionPolicy = PermissionPolicy.ALL;
-        this.subCommands = new HashSet<>();
-        this.handlers = new HashSet<>();
+        this.subCommands = new LinkedHashSet<>();
+        this.handlers = new LinkedHashSet<>();
+        this.executionPolicy = ExecutionPolicy.SYNCHRONOUS;
+        this.executor = null;
+        this.concurrencyLimit = 0;
+        this.denialHandler = null;
+        this.argumentNodes = new ArrayList<>();
+        this.argumentErrorHandler = null;
+        this.cooldown = null;
+        this.rateLimitPermits = 0;
+        this.rateLimitPeriod = null;
+        this.interceptors = new ArrayList<>();
     }
 
     /**
@@ -119,7 +143,8 @@ public class CommandBuilder {
     }
 
     /**
-     * Adds an execution handler to the command
+     * Adds an execution handler to the command.
+     * Execution handlers get called in the order they got added.
      *
      * @param handler The handler to add
      * @return The new command builder state
@@ -129,6 +154,154 @@ public class CommandBuilder {
         return this;
     }
 
+    /**
+     * Adds an interceptor wrapping the execution handlers of the command and all of its sub commands.
+     * Interceptors get called in the order they got added.
+     *
+     * @param interceptor The interceptor to add
+     * @return The new command builder state
+     */
+    public CommandBuilder addInterceptor(ExecutionInterceptor interceptor) {
+        this.interceptors.add(interceptor);
+        return this;
+    }
+
+    /**
+     * Sets the execution policy of the command
+     *
+     * @param executionPolicy The execution policy to use
+     * @return The new command builder state
+     */
+    public CommandBuilder setExecutionPolicy(ExecutionPolicy executionPolicy) {
+        this.executionPolicy = executionPolicy;
+        return this;
+    }
+
+    /**
+     * Sets the executor asynchronous executions of the command run on.
+     * If none is set, a shared executor using virtual threads where available is used.
+     *
+     * @param executor The executor to use
+     * @return The new command builder state
+     */
+    public CommandBuilder setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of concurrently running asynchronous executions of the command.
+     * Further executions get queued until a running one finishes.
+     *
+     * @param concurrencyLimit The maximum amount of concurrent executions or 0 for no limit
+     * @return The new command builder state
+     */
+    public CommandBuilder setConcurrencyLimit(int concurrencyLimit) {
+        if (concurrencyLimit < 0) {
+            throw new IllegalArgumentException("the concurrency limit must not be negative");
+        }
+        this.concurrencyLimit = concurrencyLimit;
+        return this;
+    }
+
+    /**
+     * Sets the handler getting called whenever the dispatch of the command or one of its sub commands without an own
+     * denial handler gets denied
+     *
+     * @param denialHandler The denial handler to use
+     * @return The new command builder state
+     */
+    public CommandBuilder setDenialHandler(DenialHandler denialHandler) {
+        this.denialHandler = denialHandler;
+        return this;
+    }
+
+    /**
+     * Declares a required argument of the command
+     *
+     * @param name The name of the argument
+     * @param type The type of the argument
+     * @return The new command builder state
+     */
+    public CommandBuilder addArgument(String name, ArgumentType<?> type) {
+        this.argumentNodes.add(new ArgumentNode(name, type, false, null));
+        return this;
+    }
+
+    /**
+     * Declares an optional argument of the command, resolving to null if omitted
+     *
+     * @param name The name of the argument
+     * @param type The type of the argument
+     * @return The new command builder state
+     */
+    public CommandBuilder addOptionalArgument(String name, ArgumentType<?> type) {
+        this.argumentNodes.add(new ArgumentNode(name, type, true, null));
+        return this;
+    }
+
+    /**
+     * Declares an optional argument of the command, resolving to a default value if omitted
+     *
+     * @param name         The name of the argument
+     * @param type         The type of the argument
+     * @param defaultValue The value to use if the argument got omitted
+     * @param <T>          The type of the argument
+     * @return The new command builder state
+     */
+    public <T> CommandBuilder addOptionalArgument(String name, ArgumentType<T> type, T defaultValue) {
+        this.argumentNodes.add(new ArgumentNode(name, type, true, defaultValue));
+        return this;
+    }
+
+    /**
+     * Sets the handler getting called whenever the declared arguments of the command or one of its sub commands without
+     * an own argument error handler could not be parsed
+     *
+     * @param argumentErrorHandler The argument error handler to use
+     * @return The new command builder state
+     */
+    public CommandBuilder setArgumentErrorHandler(ArgumentErrorHandler argumentErrorHandler) {
+        this.argumentErrorHandler = argumentErrorHandler;
+        return this;
+    }
+
+    /**
+     * Sets the time a player has to wait between two executions of the command.
+     * Senders other than players are not affected.
+     *
+     * @param cooldown The cooldown to use or null for no cooldown
+     * @return The new command builder state
+     */
+    public CommandBuilder setCooldown(Duration cooldown) {
+        if (cooldown != null && (cooldown.isNegative() || cooldown.isZero())) {
+            throw new IllegalArgumentException("the cooldown must be positive");
+        }
+        this.cooldown = cooldown;
+        return this;
+    }
+
+    /**
+     * Limits how often a player may execute the command.
+     * Up to the given amount of executions are allowed in a row, after which permits refill evenly over the given
+     * period. Senders other than players are not affected.
+     *
+     * @param permits The amount of executions allowed in a row
+     * @param period  The period after which all permits are available again
+     * @return The new command builder state
+     */
+    public CommandBuilder setRateLimit(int permits, Duration period) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("the amount of permits must be positive");
+        }
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("the rate limit period must be positive");
+        }
+        this.rateLimitPermits = permits;
+        this.rateLimitPeriod = period;
+        return this;
+    }
+
     /**
      * Builds the command
      *
@@ -144,7 +317,16 @@ public class CommandBuilder {
                 permissions.toArray(String[]::new),
                 permissionPolicy,
                 subCommands.toArray(Command[]::new),
-                handlers.toArray(ExecutionHandler[]::new)
+                handlers.toArray(ExecutionHandler[]::new),
+                executionPolicy,
+                executor,
+                concurrencyLimit,
+                denialHandler,
+                argumentNodes.toArray(ArgumentNode[]::new),
+                argumentErrorHandler,
+                cooldown != null ? new SenderLimiter(1, cooldown) : null,
+                rateLimitPeriod != null ? new SenderLimiter(rateLimitPermits, rateLimitPeriod) : null,
+                interceptors.toArray(ExecutionInterceptor[]::new)
         );
     }
 
@@ -0,0 +1,303 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.CommandMap;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registers root commands in bulk and keeps track of them to unregister or replace them later on
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class CommandRegistry {
+
+    // Define the registry used by Command#registerAsRootCommand
+    static final CommandRegistry DEFAULT = new CommandRegistry((String) null);
+
+    // Define the lazily resolved handles to the non-API methods of the server
+    private static volatile ServerHandles serverHandles;
+
+    // Define local variables
+    private final String fallbackPrefix;
+    private final Map<String, BukkitCommandWrapper> registered;
+    private CommandMap commandMap;
+
+    /**
+     * Creates a new command registry registering commands with the name of a plugin as their fallback prefix
+     *
+     * @param plugin The plugin to use the name of
+     */
+    public CommandRegistry(Plugin plugin) {
+        this(plugin.getName().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Creates a new command registry
+     *
+     * @param fallbackPrefix The fallback prefix to register the commands with or null to use their own name
+     */
+    public CommandRegistry(String fallbackPrefix) {
+        this.fallbackPrefix = fallbackPrefix;
+        this.registered = new LinkedHashMap<>();
+    }
+
+    /**
+     * Registers multiple root commands, replacing the ones with the same name previously registered by this registry.
+     * The command tree gets resent to the online players once per call, so commands should be registered in batches.
+     * This method touches the command map and has to be called on the main thread.
+     *
+     * @param commands The commands to register
+     */
+    public synchronized void register(Command... commands) {
+        add(commands);
+        syncCommands();
+    }
+
+    /**
+     * Registers multiple root commands like {@link #register(Command...)} does without resending the command tree to
+     * the online players, which the server does on its own after enabling the plugins
+     *
+     * @param commands The commands to register
+     */
+    synchronized void add(Command... commands) {
+        CommandMap commandMap = commandMap();
+        for (Command command : commands) {
+            BukkitCommandWrapper previous = registered.remove(command.getName());
+            if (previous != null) {
+                remove(commandMap, previous);
+            }
+            BukkitCommandWrapper wrapper = new BukkitCommandWrapper(command);
+            commandMap.register(fallbackPrefix != null ? fallbackPrefix : command.getName(), wrapper);
+            registered.put(command.getName(), wrapper);
+        }
+    }
+
+    /**
+     * Swaps the trees of root commands previously registered by this registry without re-registering them.
+     * Each tree gets published in a single volatile write, so dispatches never block and the ones which already
+     * started finish against the previous tree. The new trees may be built on any thread, and swapping only trees may
+     * happen on any thread as well. Root commands with changed aliases or which are not registered yet get registered
+     * like {@link #register(Command...)} does, which touches the command map, so swaps which may include such commands
+     * have to run on the main thread.
+     *
+     * @param commands The new root commands, matched to the registered ones by name
+     */
+    public synchronized void swap(Command... commands) {
+        List<Command> unmatched = new ArrayList<>();
+        for (Command command : commands) {
+            BukkitCommandWrapper wrapper = registered.get(command.getName());
+            if (wrapper != null && Arrays.equals(wrapper.getCommand().getAliases(), command.getAliases())) {
+                wrapper.setCommand(command);
+            } else {
+                unmatched.add(command);
+            }
+        }
+        if (!unmatched.isEmpty()) {
+            register(unmatched.toArray(Command[]::new));
+        }
+    }
+
+    /**
+     * Unregisters a root command previously registered by this registry
+     *
+     * @param name The name of the command to unregister
+     * @return Whether or not a command got unregistered
+     */
+    public synchronized boolean unregister(String name) {
+        BukkitCommandWrapper wrapper = registered.remove(name);
+        if (wrapper == null) {
+            return false;
+        }
+        remove(commandMap(), wrapper);
+        syncCommands();
+        return true;
+    }
+
+    /**
+     * Unregisters all root commands registered by this registry, e.g. when the plugin gets disabled or reloaded
+     */
+    public synchronized void unregisterAll() {
+        if (registered.isEmpty()) {
+            return;
+        }
+        CommandMap commandMap = commandMap();
+        for (BukkitCommandWrapper wrapper : registered.values()) {
+            remove(commandMap, wrapper);
+        }
+        registered.clear();
+        syncCommands();
+    }
+
+    /**
+     * Replaces all root commands registered by this registry with new ones
+     *
+     * @param commands The commands to register instead
+     */
+    public synchronized void replaceAll(Command... commands) {
+        unregisterAll();
+        register(commands);
+    }
+
+    /**
+     * @return The root commands currently registered by this registry
+     */
+    public synchronized Collection<Command> getRegistered() {
+        List<Command> commands = new ArrayList<>(registered.size());
+        for (BukkitCommandWrapper wrapper : registered.values()) {
+            commands.add(wrapper.getCommand());
+        }
+        return Collections.unmodifiableList(commands);
+    }
+
+    /**
+     * @return The command map of the server, resolved once per registry
+     */
+    private CommandMap commandMap() {
+        if (commandMap == null) {
+            try {
+                commandMap = (CommandMap) handles().getCommandMap.invoke(Bukkit.getServer());
+            } catch (Throwable throwable) {
+                throw new IllegalStateException("could not obtain the command map of the server", throwable);
+            }
+        }
+        return commandMap;
+    }
+
+    /**
+     * Removes a Bukkit command wrapper from the command map, including all of its labels
+     *
+     * @param commandMap The command map to remove the wrapper from
+     * @param wrapper    The wrapper to remove
+     */
+    private void remove(CommandMap commandMap, BukkitCommandWrapper wrapper) {
+        wrapper.unregister(commandMap);
+        MethodHandle getKnownCommands = handles().getKnownCommands;
+        if (getKnownCommands == null) {
+            return;
+        }
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, org.bukkit.command.Command> knownCommands = (Map<String, org.bukkit.command.Command>) getKnownCommands.invoke(commandMap);
+            knownCommands.values().removeIf(command -> command == wrapper);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("could not remove the command '" + wrapper.getName() + "' from the command map", throwable);
+        }
+    }
+
+    /**
+     * Resends the command tree to all players if the server supports it
+     */
+    private void syncCommands() {
+        MethodHandle syncCommands = handles().syncCommands;
+        if (syncCommands == null) {
+            return;
+        }
+        try {
+            syncCommands.invoke(Bukkit.getServer());
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("could not synchronize the commands of the server", throwable);
+        }
+    }
+
+    /**
+     * @return The handles to the non-API methods of the server, resolved on first use
+     */
+    private static ServerHandles handles() {
+        ServerHandles handles = serverHandles;
+        if (handles == null) {
+            synchronized (CommandRegistry.class) {
+                handles = serverHandles;
+                if (handles == null) {
+                    handles = new ServerHandles(Bukkit.getServer());
+                    serverHandles = handles;
+                }
+            }
+        }
+        return handles;
+    }
+
+    /**
+     * Holds the handles to the non-API methods of the server implementation
+     */
+    private static final class ServerHandles {
+
+        // Define local variables
+        private final MethodHandle getCommandMap;
+        private final MethodHandle getKnownCommands;
+        private final MethodHandle syncCommands;
+
+        private ServerHandles(Server server) {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> serverClass = server.getClass();
+            try {
+                this.getCommandMap = lookup.unreflect(serverClass.getMethod("getCommandMap"));
+            } catch (ReflectiveOperationException exception) {
+                throw new IllegalStateException("the server does not expose its command map", exception);
+            }
+            this.getKnownCommands = resolveGetKnownCommands(getCommandMap);
+            this.syncCommands = resolveOptional(lookup, serverClass, "syncCommands");
+        }
+
+        /**
+         * Resolves the accessor of the known commands of the command map
+         *
+         * @param getCommandMap The handle to obtain the command map with
+         * @return The resolved handle or null if the command map does not expose its known commands
+         */
+        private static MethodHandle resolveGetKnownCommands(MethodHandle getCommandMap) {
+            Class<?> commandMapClass = getCommandMap.type().returnType();
+            MethodHandle handle = resolveOptional(MethodHandles.publicLookup(), commandMapClass, "getKnownCommands");
+            if (handle != null) {
+                return handle;
+            }
+
+            // Older servers only provide the protected field
+            for (Class<?> type = commandMapClass; type != null; type = type.getSuperclass()) {
+                try {
+                    Field field = type.getDeclaredField("knownCommands");
+                    field.setAccessible(true);
+                    return MethodHandles.lookup().unreflectGetter(field).asType(MethodType.methodType(Object.class, CommandMap.class));
+                } catch (NoSuchFieldException ignored) {
+                    // Continue with the super class
+                } catch (ReflectiveOperationException | RuntimeException exception) {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Resolves a public method without parameters if it exists
+         *
+         * @param lookup The lookup to use
+         * @param type   The class declaring the method
+         * @param name   The name of the method
+         * @return The resolved handle or null if the method does not exist
+         */
+        private static MethodHandle resolveOptional(MethodHandles.Lookup lookup, Class<?> type, String name) {
+            try {
+                return lookup.unreflect(type.getMethod(name));
+            } catch (ReflectiveOperationException exception) {
+                return null;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,149 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.Bukkit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Caches the tab completions of a {@link CompletionProvider} per lower case prefix.
+ * Lookups never wait for the provider: fresh entries get returned immediately, expired entries get returned while
+ * they are being refreshed in the background and missing entries get answered with the cached completions of the
+ * longest shorter prefix while they are being loaded. The least recently used entries get evicted once the maximum
+ * size is exceeded.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class CompletionCache {
+
+    // Define local variables
+    private final CompletionProvider provider;
+    private final long timeToLive;
+    private final Map<String, CachedCompletions> entries;
+    private final Set<String> loading;
+
+    /**
+     * Creates a new completion cache
+     *
+     * @param provider    The provider to load completions from
+     * @param timeToLive  The time after which cached completions get refreshed
+     * @param maximumSize The maximum amount of cached prefixes
+     */
+    CompletionCache(CompletionProvider provider, Duration timeToLive, int maximumSize) {
+        this.provider = provider;
+        this.timeToLive = timeToLive.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedCompletions> eldest) {
+                return size() > maximumSize;
+            }
+        };
+        this.loading = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Retrieves the cached completions for a prefix and loads them in the background if they are missing or expired
+     *
+     * @param prefix The partially typed argument
+     * @return A mutable copy of the cached completions, the filtered completions of a shorter prefix or an empty list
+     */
+    List<String> get(String prefix) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        CachedCompletions entry;
+        CachedCompletions fallback = null;
+        synchronized (entries) {
+            entry = entries.get(key);
+            for (int length = key.length() - 1; entry == null && fallback == null && length >= 0; length--) {
+                fallback = entries.get(key.substring(0, length));
+            }
+        }
+
+        // Answer with the best known completions and refresh them if necessary
+        if (entry == null || System.nanoTime() - entry.loadedAt > timeToLive) {
+            load(key, prefix);
+        }
+        // Hand out copies as Bukkit and other plugins modify the completions of tab complete events in place
+        if (entry != null) {
+            return new ArrayList<>(entry.completions);
+        }
+        return fallback != null ? new ArrayList<>(filter(fallback.completions, key)) : new ArrayList<>();
+    }
+
+    /**
+     * Loads the completions for a prefix unless they are already being loaded
+     *
+     * @param key    The lower case prefix
+     * @param prefix The partially typed argument
+     */
+    private void load(String key, String prefix) {
+        if (!loading.add(key)) {
+            return;
+        }
+        CompletableFuture<? extends Collection<String>> future;
+        try {
+            future = provider.complete(prefix);
+        } catch (RuntimeException exception) {
+            loading.remove(key);
+            Bukkit.getLogger().log(Level.WARNING, "Could not load the tab completions for '" + prefix + "'", exception);
+            return;
+        }
+        future.whenComplete((completions, failure) -> {
+            try {
+                if (failure != null) {
+                    Bukkit.getLogger().log(Level.WARNING, "Could not load the tab completions for '" + prefix + "'", failure);
+                } else if (completions != null) {
+                    CachedCompletions entry = new CachedCompletions(filter(completions, key), System.nanoTime());
+                    synchronized (entries) {
+                        entries.put(key, entry);
+                    }
+                }
+            } finally {
+                loading.remove(key);
+            }
+        });
+    }
+
+    /**
+     * @param completions The completions to filter
+     * @param key         The lower case prefix the completions have to start with
+     * @return The unmodifiable list of completions starting with the prefix, ignoring case
+     */
+    private static List<String> filter(Collection<String> completions, String key) {
+        List<String> filtered = new ArrayList<>(completions.size());
+        for (String completion : completions) {
+            if (completion != null && completion.regionMatches(true, 0, key, 0, key.length())) {
+                filtered.add(completion);
+            }
+        }
+        return Collections.unmodifiableList(filtered);
+    }
+
+    /**
+     * Represents the completions cached for a single prefix
+     */
+    private static final class CachedCompletions {
+
+        // Define local variables
+        private final List<String> completions;
+        private final long loadedAt;
+
+        private CachedCompletions(List<String> completions, long loadedAt) {
+            this.completions = completions;
+            this.loadedAt = loadedAt;
+        }
+
+    }
+
+}
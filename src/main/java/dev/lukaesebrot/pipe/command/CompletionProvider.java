@@ -0,0 +1,26 @@
+package dev.lukaesebrot.pipe.command;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Represents a source of tab completions which may have to be loaded asynchronously, e.g. from a database
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface CompletionProvider {
+
+    /**
+     * Loads the tab completions for a partially typed argument.
+     * The returned completions get cached for the lower case prefix, so they must not depend on the sender or on the
+     * case of the prefix.
+     *
+     * @param prefix The partially typed argument
+     * @return The future completing with the tab completions
+     */
+    CompletableFuture<? extends Collection<String>> complete(String prefix);
+
+}
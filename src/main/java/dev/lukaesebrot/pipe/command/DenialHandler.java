@@ -0,0 +1,42 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * Represents a handler getting called whenever the dispatch of a command gets denied
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface DenialHandler {
+
+    /**
+     * The denial handler used if neither the command nor one of its parents define one
+     */
+    DenialHandler DEFAULT = (command, sender, reason) -> {
+        switch (reason) {
+            case PERMISSION:
+                sender.sendMessage("§cYou do not have permission to execute this command.");
+                break;
+            case COOLDOWN:
+                long seconds = (command.getRemainingCooldown(sender).toMillis() + 999) / 1000;
+                sender.sendMessage("§cPlease wait " + seconds + " second(s) before executing this command again.");
+                break;
+            case RATE_LIMIT:
+                sender.sendMessage("§cYou are executing this command too often.");
+                break;
+        }
+    };
+
+    /**
+     * Gets called whenever the dispatch of a command gets denied
+     *
+     * @param command The command whose dispatch got denied
+     * @param sender  The sender which sent the command
+     * @param reason  The reason of the denial
+     */
+    void handleDenial(Command command, CommandSender sender, DenialReason reason);
+
+}
@@ -0,0 +1,14 @@
+package dev.lukaesebrot.pipe.command;
+
+/**
+ * Represents the reason why the dispatch of a command got denied
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public enum DenialReason {
+    PERMISSION,
+    COOLDOWN,
+    RATE_LIMIT
+}
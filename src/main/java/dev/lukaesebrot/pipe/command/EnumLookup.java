@@ -0,0 +1,104 @@
+package dev.lukaesebrot.pipe.command;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Represents a case-insensitive lookup table of the elements of an enum, built once per enum class
+ *
+ * @param <T> The type of the enum
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class EnumLookup<T extends Enum<?>> {
+
+    // Define the per-class cache of lookup tables
+    private static final ClassValue<EnumLookup<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected EnumLookup<?> computeValue(Class<?> type) {
+            Enum<?>[] constants = (Enum<?>[]) type.getEnumConstants();
+            if (constants == null) {
+                throw new IllegalArgumentException(type.getName() + " is no enum class");
+            }
+            return new EnumLookup<>(constants);
+        }
+    };
+
+    // Define local variables
+    private final Map<String, T> elements;
+    private final String[] sortedKeys;
+    private final String[] sortedNames;
+
+    /**
+     * Creates a new enum lookup table
+     *
+     * @param constants The constants of the enum
+     */
+    private EnumLookup(T[] constants) {
+        Map<String, T> elements = new HashMap<>();
+        for (T constant : constants) {
+            elements.putIfAbsent(fold(constant.toString()), constant);
+        }
+        this.elements = Map.copyOf(elements);
+
+        // Sort the case-folded keys for prefix lookups
+        this.sortedKeys = elements.keySet().toArray(String[]::new);
+        Arrays.sort(sortedKeys);
+        this.sortedNames = Arrays.stream(sortedKeys).map(key -> elements.get(key).toString()).toArray(String[]::new);
+    }
+
+    /**
+     * Retrieves the cached lookup table of the given enum class
+     *
+     * @param enumClass The class of the enum to use
+     * @param <T>       The type of the enum to use
+     * @return The lookup table of the enum
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Enum<?>> EnumLookup<T> of(Class<T> enumClass) {
+        return (EnumLookup<T>) CACHE.get(enumClass);
+    }
+
+    /**
+     * Case-folds the given string
+     *
+     * @param string The string to fold
+     * @return The case-folded string
+     */
+    private static String fold(String string) {
+        return string.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Looks up the enum element whose name equals the given string, ignoring case
+     *
+     * @param name The name to look up
+     * @return The optional enum element
+     */
+    public Optional<T> find(String name) {
+        return Optional.ofNullable(elements.get(fold(name)));
+    }
+
+    /**
+     * Collects the names of all enum elements starting with the given prefix, ignoring case
+     *
+     * @param prefix The prefix to search for
+     * @return The sorted list of matching names
+     */
+    public List<String> complete(String prefix) {
+        String key = fold(prefix);
+        int from = PrefixSearch.from(sortedKeys, key);
+        int to = PrefixSearch.to(sortedKeys, key, from);
+        if (from == to) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(sortedNames).subList(from, to));
+    }
+
+}
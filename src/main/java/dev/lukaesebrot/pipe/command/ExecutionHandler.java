@@ -5,9 +5,7 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Represents a command execution handler
@@ -19,7 +17,8 @@ import java.util.stream.Collectors;
 public interface ExecutionHandler {
 
     /**
-     * Calls the current command execution handler
+     * Calls the current command execution handler.
+     * Commands do not call this method unless it is overridden; they call the overridden hooks directly instead.
      *
      * @param command   The command which called this handler
      * @param sender    The sender which sent the command
@@ -84,19 +83,82 @@ public interface ExecutionHandler {
     }
 
     /**
-     * Gets called whenever a linked command gets tab completed
+     * Gets called whenever a linked command gets tab completed.
+     * Completes the first argument with the sub commands and all arguments with the declared arguments of the command by default.
      *
-     * @param sender The sender of the tab completion event
-     * @param alias  The alias the sender used
-     * @param args   The arguments the sender specified
+     * @param command The command which called this handler
+     * @param sender  The sender of the tab completion event
+     * @param alias   The alias the sender used
+     * @param args    The arguments the sender specified
      * @return A list of tab completions
      */
     default List<String> handleTabComplete(Command command, CommandSender sender, String alias, String[] args) throws IllegalArgumentException {
-        String firstArgument = args.length != 0 ? args[0] : "";
-        return Arrays.stream(command.getSubCommands())
-                .map(Command::getName)
-                .filter(name -> name.toLowerCase().startsWith(firstArgument.toLowerCase()))
-                .collect(Collectors.toList());
+        if (args.length > 1) {
+            return command.completeArguments(sender, args);
+        }
+        List<String> completions = command.completeSubCommands(sender, args.length != 0 ? args[0] : "");
+        completions.addAll(command.completeArguments(sender, args));
+        return completions;
+    }
+
+    /**
+     * Creates an execution handler getting called for every sender
+     *
+     * @param handler The hook to call
+     * @return The created execution handler
+     */
+    static ExecutionHandler of(TypedExecutionHandler<CommandSender> handler) {
+        return new TypedHandlerAdapter<>(handler) {
+            @Override
+            public void handleExecution(Command command, CommandSender sender, Arguments arguments) {
+                handler.handle(command, sender, arguments);
+            }
+        };
+    }
+
+    /**
+     * Creates an execution handler getting called for console command senders only
+     *
+     * @param handler The hook to call
+     * @return The created execution handler
+     */
+    static ExecutionHandler ofConsole(TypedExecutionHandler<ConsoleCommandSender> handler) {
+        return new TypedHandlerAdapter<>(handler) {
+            @Override
+            public void handleConsoleExecution(Command command, ConsoleCommandSender sender, Arguments arguments) {
+                handler.handle(command, sender, arguments);
+            }
+        };
+    }
+
+    /**
+     * Creates an execution handler getting called for block command senders only
+     *
+     * @param handler The hook to call
+     * @return The created execution handler
+     */
+    static ExecutionHandler ofBlock(TypedExecutionHandler<BlockCommandSender> handler) {
+        return new TypedHandlerAdapter<>(handler) {
+            @Override
+            public void handleBlockExecution(Command command, BlockCommandSender sender, Arguments arguments) {
+                handler.handle(command, sender, arguments);
+            }
+        };
+    }
+
+    /**
+     * Creates an execution handler getting called for players only
+     *
+     * @param handler The hook to call
+     * @return The created execution handler
+     */
+    static ExecutionHandler ofPlayer(TypedExecutionHandler<Player> handler) {
+        return new TypedHandlerAdapter<>(handler) {
+            @Override
+            public void handlePlayerExecution(Command command, Player player, Arguments arguments) {
+                handler.handle(command, player, arguments);
+            }
+        };
     }
 
 }
@@ -0,0 +1,41 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * Represents an interceptor wrapping the execution handlers of a command and all of its sub commands
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ExecutionInterceptor {
+
+    /**
+     * Gets called before the execution handlers of a command get called.
+     * Interceptors declared on parent commands get called before the ones declared on their sub commands, following the
+     * path the command got dispatched through.
+     *
+     * @param command   The command which is about to be executed
+     * @param sender    The sender which sent the command
+     * @param arguments The arguments of the command
+     * @return Whether or not the remaining interceptors and the execution handlers should get called
+     */
+    boolean beforeExecution(Command command, CommandSender sender, Arguments arguments);
+
+    /**
+     * Gets called after the execution handlers of a command got called or the execution got cut short by a later
+     * interceptor, if {@link #beforeExecution(Command, CommandSender, Arguments)} of this interceptor returned true.
+     * Interceptors get called in reverse order.
+     *
+     * @param command   The command which got executed
+     * @param sender    The sender which sent the command
+     * @param arguments The arguments of the command
+     * @param failure   The exception thrown by a later interceptor or an execution handler or null if there was none
+     */
+    default void afterExecution(Command command, CommandSender sender, Arguments arguments, Throwable failure) {
+        // Empty by default
+    }
+
+}
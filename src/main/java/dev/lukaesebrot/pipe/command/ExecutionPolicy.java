@@ -0,0 +1,13 @@
+package dev.lukaesebrot.pipe.command;
+
+/**
+ * Represents the execution policy of a command
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public enum ExecutionPolicy {
+    SYNCHRONOUS,
+    ASYNCHRONOUS
+}
@@ -0,0 +1,149 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the precomputed execution hook calls of a set of execution handlers per type of sender.
+ * Only hooks a handler actually overrides get called. Every such hook gets bound to an invoker when the command gets
+ * built, so dispatching costs one interface call per hook without branching on the hook; handlers created through the
+ * factories of {@link ExecutionHandler} are their own invokers, skipping the hook wrapping them.
+ * The invoking call site is shared by all commands, so it still sees every invoker class in use.
+ * Handlers overriding {@link ExecutionHandler#call(Command, CommandSender, Arguments)} keep getting called through it.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class HandlerDispatch {
+
+    // Define the hooks of a handler
+    private static final int CALL = 1;
+    private static final int GENERAL = 1 << 1;
+    private static final int CONSOLE = 1 << 2;
+    private static final int BLOCK = 1 << 3;
+    private static final int PLAYER = 1 << 4;
+
+    // Define the types of senders
+    private static final int OTHER_SENDER = 0;
+    private static final int CONSOLE_SENDER = 1;
+    private static final int BLOCK_SENDER = 2;
+    private static final int PLAYER_SENDER = 3;
+
+    // Define the overridden hooks of every handler class
+    private static final ClassValue<Integer> OVERRIDDEN_HOOKS = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            if (isOverridden(type, "call", CommandSender.class)) {
+                return CALL;
+            }
+            int hooks = 0;
+            hooks |= isOverridden(type, "handleExecution", CommandSender.class) ? GENERAL : 0;
+            hooks |= isOverridden(type, "handleConsoleExecution", ConsoleCommandSender.class) ? CONSOLE : 0;
+            hooks |= isOverridden(type, "handleBlockExecution", BlockCommandSender.class) ? BLOCK : 0;
+            hooks |= isOverridden(type, "handlePlayerExecution", Player.class) ? PLAYER : 0;
+            return hooks;
+        }
+    };
+
+    // Define the bound hooks to call per type of sender
+    private final TypedExecutionHandler<CommandSender>[][] invokers;
+
+    /**
+     * Creates a new handler dispatch
+     *
+     * @param handlers The execution handlers in the order they get called
+     */
+    @SuppressWarnings("unchecked")
+    HandlerDispatch(ExecutionHandler[] handlers) {
+        this.invokers = new TypedExecutionHandler[4][];
+        for (int senderType = OTHER_SENDER; senderType <= PLAYER_SENDER; senderType++) {
+            int specificHook = senderType == CONSOLE_SENDER ? CONSOLE : senderType == BLOCK_SENDER ? BLOCK : senderType == PLAYER_SENDER ? PLAYER : 0;
+            List<TypedExecutionHandler<CommandSender>> calledInvokers = new ArrayList<>();
+            for (ExecutionHandler handler : handlers) {
+                int overridden = OVERRIDDEN_HOOKS.get(handler.getClass());
+                for (int hook : new int[]{CALL, GENERAL, specificHook}) {
+                    if ((overridden & hook) != 0) {
+                        calledInvokers.add(bind(handler, hook));
+                    }
+                }
+            }
+            this.invokers[senderType] = calledInvokers.toArray(TypedExecutionHandler[]::new);
+        }
+    }
+
+    /**
+     * Binds a hook of a handler to an invoker. The invoker only gets called with senders of the type the hook expects.
+     *
+     * @param handler The handler to bind the hook of
+     * @param hook    The hook to bind
+     * @return The invoker calling the hook
+     */
+    @SuppressWarnings("unchecked")
+    private static TypedExecutionHandler<CommandSender> bind(ExecutionHandler handler, int hook) {
+        // Call typed handlers directly instead of through the hook wrapping them
+        if (handler instanceof TypedHandlerAdapter) {
+            return (TypedExecutionHandler<CommandSender>) ((TypedHandlerAdapter<?>) handler).handler;
+        }
+        switch (hook) {
+            case CALL:
+                return handler::call;
+            case GENERAL:
+                return handler::handleExecution;
+            case CONSOLE:
+                return (command, sender, arguments) -> handler.handleConsoleExecution(command, (ConsoleCommandSender) sender, arguments);
+            case BLOCK:
+                return (command, sender, arguments) -> handler.handleBlockExecution(command, (BlockCommandSender) sender, arguments);
+            default:
+                return (command, sender, arguments) -> handler.handlePlayerExecution(command, (Player) sender, arguments);
+        }
+    }
+
+    /**
+     * Checks whether or not the given handler class overrides a method of {@link ExecutionHandler}
+     *
+     * @param type       The handler class to check
+     * @param name       The name of the method
+     * @param senderType The type of the sender parameter of the method
+     * @return Whether or not the method is declared by something other than {@link ExecutionHandler}
+     */
+    private static boolean isOverridden(Class<?> type, String name, Class<?> senderType) {
+        try {
+            return type.getMethod(name, Command.class, senderType, Arguments.class).getDeclaringClass() != ExecutionHandler.class;
+        } catch (NoSuchMethodException exception) {
+            return true;
+        }
+    }
+
+    /**
+     * Calls the hooks of all handlers corresponding to the type of the given sender
+     *
+     * @param command   The command which called the handlers
+     * @param sender    The sender which sent the command
+     * @param arguments The arguments of the command
+     */
+    void dispatch(Command command, CommandSender sender, Arguments arguments) {
+        // Resolve the type of the sender once
+        int senderType;
+        if (sender instanceof ConsoleCommandSender) {
+            senderType = CONSOLE_SENDER;
+        } else if (sender instanceof BlockCommandSender) {
+            senderType = BLOCK_SENDER;
+        } else if (sender instanceof Player) {
+            senderType = PLAYER_SENDER;
+        } else {
+            senderType = OTHER_SENDER;
+        }
+
+        // Call the bound hooks
+        for (TypedExecutionHandler<CommandSender> invoker : invokers[senderType]) {
+            invoker.handle(command, sender, arguments);
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caches the permission decisions of players per command node.
+ * Bukkit does not publish an event when it recalculates the permissions of a player, so the decisions of a player
+ * get dropped whenever a recalculation is triggered by the server (join, quit and world changes, see
+ * {@link #registerListener(Plugin)}), whenever the operator status of the player changes, after a configurable time to
+ * live and whenever {@link #invalidate(CommandSender)} gets called (e.g. from the recalculation event of a permission
+ * plugin). The decisions of other senders are not cached.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class PermissionCache {
+
+    // Define the amount of created sender entries after which expired ones get swept
+    private static final int SWEEP_INTERVAL = 256;
+
+    // Define the cached decisions keyed by the player's UUID
+    private static final Map<UUID, SenderEntry> ENTRIES = new ConcurrentHashMap<>();
+    private static final AtomicInteger CREATED_ENTRIES = new AtomicInteger();
+    private static volatile long timeToLive = TimeUnit.SECONDS.toNanos(1);
+
+    private PermissionCache() {
+    }
+
+    /**
+     * Checks the permissions of the given sender for the given command, using the cached decision if there is one
+     *
+     * @param command The command to check the permissions for
+     * @param sender  The command sender to check the permissions on
+     * @return Whether or not the sender is permitted to execute the command
+     */
+    public static boolean isPermitted(Command command, CommandSender sender) {
+        // Commands without permissions do not require a decision
+        if (!command.requiresPermissions()) {
+            return true;
+        }
+
+        // Only cache the decisions of players, as other senders are not bound to a session the cache could follow
+        if (!(sender instanceof Player)) {
+            return command.checkPermissions(sender);
+        }
+
+        // Resolve the player's entry and replace it if it expired or the operator status changed
+        Player player = (Player) sender;
+        UUID key = player.getUniqueId();
+        boolean op = player.isOp();
+        long now = System.nanoTime();
+        SenderEntry entry = ENTRIES.get(key);
+        if (entry == null || entry.op != op || now - entry.createdAt > timeToLive) {
+            entry = new SenderEntry(now, op);
+            ENTRIES.put(key, entry);
+            if (CREATED_ENTRIES.incrementAndGet() % SWEEP_INTERVAL == 0) {
+                sweep(now);
+            }
+        }
+
+        // Look up or compute the decision for the command node
+        Boolean decision = entry.decisions.get(command);
+        if (decision == null) {
+            decision = command.checkPermissions(sender);
+            entry.decisions.put(command, decision);
+        }
+        return decision;
+    }
+
+    /**
+     * Drops all cached decisions of the given sender.
+     * Permission plugins should call this whenever they change the permissions of a player.
+     *
+     * @param sender The sender to drop the decisions of
+     */
+    public static void invalidate(CommandSender sender) {
+        if (sender instanceof Player) {
+            ENTRIES.remove(((Player) sender).getUniqueId());
+        }
+    }
+
+    /**
+     * Drops all cached decisions of the player with the given UUID
+     *
+     * @param uuid The UUID of the player to drop the decisions of
+     */
+    public static void invalidate(UUID uuid) {
+        ENTRIES.remove(uuid);
+    }
+
+    /**
+     * Drops all cached decisions
+     */
+    public static void invalidateAll() {
+        ENTRIES.clear();
+    }
+
+    /**
+     * Sets the duration after which the cached decisions of a player get dropped, defaulting to one second
+     *
+     * @param timeToLive The time to live of cached decisions
+     */
+    public static void setTimeToLive(Duration timeToLive) {
+        PermissionCache.timeToLive = timeToLive.toNanos();
+    }
+
+    /**
+     * Registers the listener invalidating cached decisions whenever the server recalculates the permissions of a player
+     *
+     * @param plugin The plugin to register the listener with
+     */
+    public static void registerListener(Plugin plugin) {
+        plugin.getServer().getPluginManager().registerEvents(new PermissionCacheListener(), plugin);
+    }
+
+    /**
+     * Drops all expired sender entries
+     *
+     * @param now The current nano time
+     */
+    private static void sweep(long now) {
+        long timeToLive = PermissionCache.timeToLive;
+        ENTRIES.values().removeIf(entry -> now - entry.createdAt > timeToLive);
+    }
+
+    /**
+     * Holds the cached decisions of a single player
+     */
+    private static final class SenderEntry {
+
+        // Define local variables
+        private final long createdAt;
+        private final boolean op;
+        private final Map<Command, Boolean> decisions;
+
+        private SenderEntry(long createdAt, boolean op) {
+            this.createdAt = createdAt;
+            this.op = op;
+            this.decisions = new ConcurrentHashMap<>();
+        }
+
+    }
+
+}
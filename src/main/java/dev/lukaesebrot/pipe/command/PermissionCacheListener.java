@@ -0,0 +1,34 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Represents the listener invalidating cached permission decisions whenever the server recalculates the permissions of a player
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class PermissionCacheListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void handlePlayerJoin(PlayerJoinEvent event) {
+        PermissionCache.invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void handlePlayerQuit(PlayerQuitEvent event) {
+        PermissionCache.invalidate(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void handlePlayerChangedWorld(PlayerChangedWorldEvent event) {
+        PermissionCache.invalidate(event.getPlayer().getUniqueId());
+    }
+
+}
@@ -0,0 +1,185 @@
+package dev.lukaesebrot.pipe.command;
+
+import dev.lukaesebrot.pipe.concurrent.AsyncExecutors;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Indexes the online players by their lower case name to resolve names and name prefixes in logarithmic time.
+ * The index is maintained by a listener registered using {@link #registerListener(Plugin)}; as long as it is not
+ * registered, all lookups fall back to the Bukkit API.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class PlayerIndex {
+
+    // Define the indexed players keyed by their lower case name
+    private static final Map<String, Player> EXACT = new ConcurrentHashMap<>();
+    private static final NavigableMap<String, Player> SORTED = new ConcurrentSkipListMap<>();
+
+    // Define whether or not the index is maintained by a registered listener
+    private static volatile boolean active;
+
+    private PlayerIndex() {
+    }
+
+    /**
+     * Registers the listener maintaining the index and indexes all players which are already online
+     *
+     * @param plugin The plugin to register the listener with
+     */
+    public static void registerListener(Plugin plugin) {
+        plugin.getServer().getPluginManager().registerEvents(new PlayerIndexListener(plugin), plugin);
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            add(player);
+        }
+        active = true;
+    }
+
+    /**
+     * @return Whether or not the index is maintained by a registered listener
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Stops using the index and removes all indexed players
+     */
+    static void deactivate() {
+        active = false;
+        EXACT.clear();
+        SORTED.clear();
+    }
+
+    /**
+     * Adds a player to the index
+     *
+     * @param player The player to add
+     */
+    static void add(Player player) {
+        String key = player.getName().toLowerCase(Locale.ROOT);
+        EXACT.put(key, player);
+        SORTED.put(key, player);
+    }
+
+    /**
+     * Removes a player from the index
+     *
+     * @param player The player to remove
+     */
+    static void remove(Player player) {
+        String key = player.getName().toLowerCase(Locale.ROOT);
+        EXACT.remove(key, player);
+        SORTED.remove(key, player);
+    }
+
+    /**
+     * Retrieves the online player with the given name, ignoring case
+     *
+     * @param name The name of the player
+     * @return The optional player
+     */
+    public static Optional<Player> getExact(String name) {
+        if (!active) {
+            return Optional.ofNullable(Bukkit.getPlayerExact(name));
+        }
+        return Optional.ofNullable(EXACT.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Retrieves the online player with the given name or, if there is none, the one with the shortest name starting
+     * with the given name, ignoring case. This matches the behaviour of {@link Bukkit#getPlayer(String)}.
+     *
+     * @param name The name or name prefix of the player
+     * @return The optional player
+     */
+    public static Optional<Player> get(String name) {
+        if (!active) {
+            return Optional.ofNullable(Bukkit.getPlayer(name));
+        }
+        String prefix = name.toLowerCase(Locale.ROOT);
+        Player exact = EXACT.get(prefix);
+        if (exact != null) {
+            return Optional.of(exact);
+        }
+
+        // Find the shortest name starting with the prefix
+        Player found = null;
+        int shortest = Integer.MAX_VALUE;
+        for (Map.Entry<String, Player> entry : SORTED.tailMap(prefix, false).entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            if (key.length() < shortest) {
+                found = entry.getValue();
+                shortest = key.length();
+            }
+        }
+        return Optional.ofNullable(found);
+    }
+
+    /**
+     * Collects the names of all online players starting with the given prefix, ignoring case
+     *
+     * @param prefix The prefix to search for
+     * @return The list of matching names sorted ignoring case
+     */
+    public static List<String> complete(String prefix) {
+        List<String> completions = new ArrayList<>();
+        if (!active) {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                String name = player.getName();
+                if (name.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                    completions.add(name);
+                }
+            }
+            completions.sort(String.CASE_INSENSITIVE_ORDER);
+            return completions;
+        }
+        String key = prefix.toLowerCase(Locale.ROOT);
+        for (Map.Entry<String, Player> entry : SORTED.tailMap(key, true).entrySet()) {
+            if (!entry.getKey().startsWith(key)) {
+                break;
+            }
+            completions.add(entry.getValue().getName());
+        }
+        return completions;
+    }
+
+    /**
+     * Resolves a player who has played on the server before by their name.
+     * Online players get resolved immediately; offline players get resolved on the default asynchronous executor as the
+     * lookup may block.
+     *
+     * @param name The exact name of the player
+     * @return The future completing with the optional player
+     */
+    public static CompletableFuture<Optional<OfflinePlayer>> resolveOffline(String name) {
+        Optional<Player> online = getExact(name);
+        if (online.isPresent()) {
+            return CompletableFuture.completedFuture(Optional.of(online.get()));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            @SuppressWarnings("deprecation")
+            OfflinePlayer player = Bukkit.getOfflinePlayer(name);
+            return player != null && (player.isOnline() || player.hasPlayedBefore()) ? Optional.of(player) : Optional.empty();
+        }, AsyncExecutors.defaultExecutor());
+    }
+
+}
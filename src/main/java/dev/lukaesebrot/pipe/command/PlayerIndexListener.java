@@ -0,0 +1,50 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Represents the listener keeping the {@link PlayerIndex} in sync with the online players
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class PlayerIndexListener implements Listener {
+
+    // Define the plugin this listener is registered with
+    private final Plugin plugin;
+
+    /**
+     * Creates a new player index listener
+     *
+     * @param plugin The plugin this listener is registered with
+     */
+    public PlayerIndexListener(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void handlePlayerJoin(PlayerJoinEvent event) {
+        PlayerIndex.add(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void handlePlayerQuit(PlayerQuitEvent event) {
+        PlayerIndex.remove(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void handlePluginDisable(PluginDisableEvent event) {
+        // Stop using the index as this listener gets unregistered together with the plugin
+        if (event.getPlugin() == plugin) {
+            PlayerIndex.deactivate();
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package dev.lukaesebrot.pipe.command;
+
+/**
+ * Provides binary searches for prefix ranges inside sorted string arrays
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class PrefixSearch {
+
+    private PrefixSearch() {
+    }
+
+    /**
+     * Searches the index of the first key which is greater than or equal to the given prefix
+     *
+     * @param sortedKeys The naturally sorted keys
+     * @param prefix     The prefix to search for
+     * @return The index the prefix range starts at
+     */
+    static int from(String[] sortedKeys, String prefix) {
+        int low = 0;
+        int high = sortedKeys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedKeys[middle].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Searches the exclusive end index of the range of keys starting with the given prefix
+     *
+     * @param sortedKeys The naturally sorted keys
+     * @param prefix     The prefix to search for
+     * @param from       The index the prefix range starts at
+     * @return The index the prefix range ends at
+     */
+    static int to(String[] sortedKeys, String prefix, int from) {
+        int low = from;
+        int high = sortedKeys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedKeys[middle].startsWith(prefix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+}
@@ -0,0 +1,125 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits how often single players may dispatch a command using a token bucket per player.
+ * The bucket of a player is stored as the single instant at which it will be full again, so acquiring a token is a
+ * single compare-and-set and full buckets carry no information and get swept.
+ * Senders other than players are never limited.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class SenderLimiter {
+
+    // Define the amount of created player entries after which idle ones get swept
+    private static final int SWEEP_INTERVAL = 256;
+
+    // Define the value marking a removed entry which must not be updated anymore
+    private static final long DETACHED = Long.MIN_VALUE;
+
+    // Define local variables
+    private final long interval;
+    private final long tolerance;
+    private final Map<UUID, AtomicLong> entries;
+    private final AtomicInteger createdEntries;
+
+    /**
+     * Creates a new sender limiter
+     *
+     * @param permits The amount of dispatches allowed in a row
+     * @param period  The period after which all permits are available again
+     */
+    SenderLimiter(int permits, Duration period) {
+        this.interval = period.toNanos() / permits;
+        this.tolerance = interval * (permits - 1);
+        this.entries = new ConcurrentHashMap<>();
+        this.createdEntries = new AtomicInteger();
+    }
+
+    /**
+     * Tries to take a permit for the given sender
+     *
+     * @param sender The sender to take a permit for
+     * @return Whether or not a permit was available
+     */
+    boolean tryAcquire(CommandSender sender) {
+        if (!(sender instanceof Player)) {
+            return true;
+        }
+        UUID uuid = ((Player) sender).getUniqueId();
+        long now = System.nanoTime();
+        while (true) {
+            // Retrieve the entry of the player or create it if it does not exist
+            AtomicLong entry = entries.get(uuid);
+            if (entry == null) {
+                AtomicLong created = new AtomicLong(now + interval);
+                if (entries.putIfAbsent(uuid, created) == null) {
+                    if (createdEntries.incrementAndGet() % SWEEP_INTERVAL == 0) {
+                        sweep(now);
+                    }
+                    return true;
+                }
+                continue;
+            }
+
+            // Take a permit if the bucket is not empty
+            long refilledAt = entry.get();
+            if (refilledAt == DETACHED) {
+                entries.remove(uuid, entry);
+                continue;
+            }
+            long base = refilledAt - now > 0 ? refilledAt : now;
+            if (base - now > tolerance) {
+                return false;
+            }
+            if (entry.compareAndSet(refilledAt, base + interval)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Calculates how long the given sender has to wait until the next permit becomes available
+     *
+     * @param sender The sender to calculate the remaining time of
+     * @return The remaining time or {@link Duration#ZERO} if a permit is available
+     */
+    Duration getRemaining(CommandSender sender) {
+        if (!(sender instanceof Player)) {
+            return Duration.ZERO;
+        }
+        AtomicLong entry = entries.get(((Player) sender).getUniqueId());
+        if (entry == null) {
+            return Duration.ZERO;
+        }
+        long refilledAt = entry.get();
+        long remaining = refilledAt - System.nanoTime() - tolerance;
+        return refilledAt == DETACHED || remaining <= 0 ? Duration.ZERO : Duration.ofNanos(remaining);
+    }
+
+    /**
+     * Removes the entries of all players whose bucket is full again
+     *
+     * @param now The current value of {@link System#nanoTime()}
+     */
+    private void sweep(long now) {
+        entries.forEach((uuid, entry) -> {
+            long refilledAt = entry.get();
+            if (refilledAt != DETACHED && refilledAt - now <= 0 && entry.compareAndSet(refilledAt, DETACHED)) {
+                entries.remove(uuid, entry);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,128 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Represents the compiled, immutable lookup index of the sub commands of a command
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class SubCommandIndex {
+
+    // Define local variables
+    private final Command[] subCommands;
+    private final Map<String, Integer> sensitive;
+    private final Map<String, Integer> insensitive;
+    private final String[] completionKeys;
+    private final String[] completionLabels;
+    private final Command[] completionCommands;
+
+    /**
+     * Compiles a new sub command index
+     *
+     * @param subCommands The sub commands to index
+     */
+    SubCommandIndex(Command[] subCommands) {
+        // Index the declaration position of every label so the first declared sub command wins on collisions
+        Map<String, Integer> sensitive = new HashMap<>();
+        Map<String, Integer> insensitive = new HashMap<>();
+        for (int i = 0; i < subCommands.length; i++) {
+            // Case insensitive commands get indexed by their case-folded labels
+            Command subCommand = subCommands[i];
+            boolean ignoreCase = subCommand.getCaseSensitivityPolicy() == CaseSensitivityPolicy.INSENSITIVE;
+            Map<String, Integer> target = ignoreCase ? insensitive : sensitive;
+            target.putIfAbsent(ignoreCase ? fold(subCommand.getName()) : subCommand.getName(), i);
+            for (String alias : subCommand.getAliases()) {
+                target.putIfAbsent(ignoreCase ? fold(alias) : alias, i);
+            }
+        }
+        this.subCommands = subCommands.clone();
+        this.sensitive = Map.copyOf(sensitive);
+        this.insensitive = Map.copyOf(insensitive);
+
+        // Sort all names and aliases by their case-folded form for prefix completion
+        List<String> labels = new ArrayList<>();
+        List<Command> owners = new ArrayList<>();
+        for (Command subCommand : subCommands) {
+            labels.add(subCommand.getName());
+            owners.add(subCommand);
+            for (String alias : subCommand.getAliases()) {
+                labels.add(alias);
+                owners.add(subCommand);
+            }
+        }
+        Integer[] order = new Integer[labels.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> fold(labels.get(i))).thenComparing(labels::get));
+        this.completionKeys = new String[order.length];
+        this.completionLabels = new String[order.length];
+        this.completionCommands = new Command[order.length];
+        for (int i = 0; i < order.length; i++) {
+            completionLabels[i] = labels.get(order[i]);
+            completionKeys[i] = fold(completionLabels[i]);
+            completionCommands[i] = owners.get(order[i]);
+        }
+    }
+
+    /**
+     * Case-folds a command label
+     *
+     * @param label The label to fold
+     * @return The case-folded label
+     */
+    static String fold(String label) {
+        return label.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Looks up the sub command corresponding to the given label.
+     * If multiple sub commands match the label, the one declared first wins.
+     *
+     * @param label The label to look up
+     * @return The corresponding sub command or null if there is none
+     */
+    Command find(String label) {
+        Integer sensitiveIndex = sensitive.get(label);
+        Integer insensitiveIndex = insensitive.isEmpty() ? null : insensitive.get(fold(label));
+        if (sensitiveIndex == null) {
+            return insensitiveIndex != null ? subCommands[insensitiveIndex] : null;
+        }
+        if (insensitiveIndex == null || sensitiveIndex < insensitiveIndex) {
+            return subCommands[sensitiveIndex];
+        }
+        return subCommands[insensitiveIndex];
+    }
+
+    /**
+     * Collects all sub command names and aliases starting with the given prefix, ignoring case
+     *
+     * @param sender The sender to hide the sub commands it is not permitted to execute from or null to show all
+     * @param prefix The prefix to search for
+     * @return The sorted list of matching names and aliases
+     */
+    List<String> complete(CommandSender sender, String prefix) {
+        String key = fold(prefix);
+        int from = PrefixSearch.from(completionKeys, key);
+        int to = PrefixSearch.to(completionKeys, key, from);
+        List<String> completions = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            if (sender == null || PermissionCache.isPermitted(completionCommands[i], sender)) {
+                completions.add(completionLabels[i]);
+            }
+        }
+        return completions;
+    }
+
+}
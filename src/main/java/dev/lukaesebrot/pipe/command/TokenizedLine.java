@@ -0,0 +1,188 @@
+package dev.lukaesebrot.pipe.command;
+
+import java.util.Arrays;
+
+/**
+ * Represents a command line split into tokens in a single pass.
+ * Tokens are separated by whitespace. A token starting with a double or single quote extends to the matching closing
+ * quote and may contain whitespace as well as the quote character or a backslash escaped by a backslash. A quote
+ * which is never closed is taken literally. Only the offsets of the tokens get recorded; their values are extracted
+ * on demand.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class TokenizedLine {
+
+    // Define the amount of offsets recorded per token
+    private static final int SPAN_START = 0;
+    private static final int SPAN_END = 1;
+    private static final int VALUE_START = 2;
+    private static final int VALUE_END = 3;
+    private static final int STRIDE = 4;
+
+    // Define local variables
+    private final String line;
+    private int count;
+    private int[] offsets;
+    private boolean[] escaped;
+
+    /**
+     * Tokenizes the given command line
+     *
+     * @param line The command line to tokenize
+     */
+    TokenizedLine(String line) {
+        this.line = line;
+        this.offsets = new int[8 * STRIDE];
+
+        int length = line.length();
+        int index = 0;
+        while (true) {
+            // Skip the whitespace in front of the next token
+            while (index < length && isWhitespace(line.charAt(index))) {
+                index++;
+            }
+            if (index >= length) {
+                break;
+            }
+            int start = index;
+
+            // Scan a quoted token up to its closing quote
+            char quote = line.charAt(index);
+            if (quote == '"' || quote == '\'') {
+                boolean containsEscapes = false;
+                int cursor = index + 1;
+                while (cursor < length) {
+                    char character = line.charAt(cursor);
+                    if (character == '\\' && cursor + 1 < length && isEscapable(line.charAt(cursor + 1), quote)) {
+                        containsEscapes = true;
+                        cursor += 2;
+                        continue;
+                    }
+                    if (character == quote) {
+                        break;
+                    }
+                    cursor++;
+                }
+                if (cursor < length) {
+                    add(start, cursor + 1, start + 1, cursor, containsEscapes);
+                    index = cursor + 1;
+                    continue;
+                }
+            }
+
+            // Scan an unquoted token up to the next whitespace
+            while (index < length && !isWhitespace(line.charAt(index))) {
+                index++;
+            }
+            add(start, index, start, index, false);
+        }
+    }
+
+    /**
+     * Checks whether or not the given character separates tokens
+     *
+     * @param character The character to check
+     * @return Whether or not the character is whitespace
+     */
+    static boolean isWhitespace(char character) {
+        return character == ' ' || character == '\t' || character == '\n' || character == '\u000B' || character == '\f' || character == '\r';
+    }
+
+    /**
+     * Checks whether or not the given character may be escaped inside a quoted token
+     *
+     * @param character The character following a backslash
+     * @param quote     The quote character of the token
+     * @return Whether or not the character is the quote character or a backslash
+     */
+    private static boolean isEscapable(char character, char quote) {
+        return character == quote || character == '\\';
+    }
+
+    /**
+     * Records the offsets of a token
+     *
+     * @param spanStart       The index of the first character of the token including its quotes
+     * @param spanEnd         The index after the last character of the token including its quotes
+     * @param valueStart      The index of the first character of the value of the token
+     * @param valueEnd        The index after the last character of the value of the token
+     * @param containsEscapes Whether or not the value contains escape sequences
+     */
+    private void add(int spanStart, int spanEnd, int valueStart, int valueEnd, boolean containsEscapes) {
+        if ((count + 1) * STRIDE > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        int base = count * STRIDE;
+        offsets[base + SPAN_START] = spanStart;
+        offsets[base + SPAN_END] = spanEnd;
+        offsets[base + VALUE_START] = valueStart;
+        offsets[base + VALUE_END] = valueEnd;
+        if (containsEscapes) {
+            if (escaped == null) {
+                escaped = new boolean[offsets.length / STRIDE];
+            } else if (escaped.length <= count) {
+                escaped = Arrays.copyOf(escaped, offsets.length / STRIDE);
+            }
+            escaped[count] = true;
+        }
+        count++;
+    }
+
+    /**
+     * @return The tokenized command line
+     */
+    String getLine() {
+        return line;
+    }
+
+    /**
+     * @return The amount of tokens
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * @param index The index of the token
+     * @return The index of the first character of the token including its quotes
+     */
+    int spanStart(int index) {
+        return offsets[index * STRIDE + SPAN_START];
+    }
+
+    /**
+     * @param index The index of the token
+     * @return The index after the last character of the token including its quotes
+     */
+    int spanEnd(int index) {
+        return offsets[index * STRIDE + SPAN_END];
+    }
+
+    /**
+     * Extracts the value of a token, removing its quotes and resolving its escape sequences
+     *
+     * @param index The index of the token
+     * @return The value of the token
+     */
+    String value(int index) {
+        int start = offsets[index * STRIDE + VALUE_START];
+        int end = offsets[index * STRIDE + VALUE_END];
+        if (escaped == null || index >= escaped.length || !escaped[index]) {
+            return line.substring(start, end);
+        }
+        char quote = line.charAt(start - 1);
+        StringBuilder builder = new StringBuilder(end - start);
+        for (int cursor = start; cursor < end; cursor++) {
+            char character = line.charAt(cursor);
+            if (character == '\\' && cursor + 1 < end && isEscapable(line.charAt(cursor + 1), quote)) {
+                character = line.charAt(++cursor);
+            }
+            builder.append(character);
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,25 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * Represents a single execution hook for a specific type of sender, usable as a lambda
+ *
+ * @param <S> The type of the sender
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface TypedExecutionHandler<S extends CommandSender> {
+
+    /**
+     * Gets called whenever a linked command gets called by a sender of the corresponding type
+     *
+     * @param command   The command which called this handler
+     * @param sender    The sender which sent the command
+     * @param arguments The arguments of the command
+     */
+    void handle(Command command, S sender, Arguments arguments);
+
+}
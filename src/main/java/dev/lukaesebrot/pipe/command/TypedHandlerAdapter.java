@@ -0,0 +1,28 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * Represents an execution handler wrapping a single {@link TypedExecutionHandler}, created by the factories of
+ * {@link ExecutionHandler}. Commands call the typed handler directly instead of going through the overridden hook.
+ *
+ * @param <S> The type of the sender
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+abstract class TypedHandlerAdapter<S extends CommandSender> implements ExecutionHandler {
+
+    // Define the wrapped typed handler
+    final TypedExecutionHandler<S> handler;
+
+    /**
+     * Creates a new typed handler adapter
+     *
+     * @param handler The typed handler to wrap
+     */
+    TypedHandlerAdapter(TypedExecutionHandler<S> handler) {
+        this.handler = handler;
+    }
+
+}
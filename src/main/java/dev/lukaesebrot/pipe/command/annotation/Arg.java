@@ -0,0 +1,46 @@
+package dev.lukaesebrot.pipe.command.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a parameter of a {@link SubCommand} method as a typed argument.
+ * Supported parameter types are {@link String}, {@code int}, {@code long}, {@code double} (and their wrappers),
+ * {@link org.bukkit.entity.Player} and enums.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.PARAMETER)
+public @interface Arg {
+
+    /**
+     * @return The name of the argument
+     */
+    String value();
+
+    /**
+     * @return Whether or not the argument may be omitted, requiring a non-primitive parameter type
+     */
+    boolean optional() default false;
+
+    /**
+     * @return Whether or not a string argument consumes the whole rest of the input
+     */
+    boolean greedy() default false;
+
+    /**
+     * @return The inclusive minimum of a numeric argument
+     */
+    double min() default Double.NEGATIVE_INFINITY;
+
+    /**
+     * @return The inclusive maximum of a numeric argument
+     */
+    double max() default Double.POSITIVE_INFINITY;
+
+}
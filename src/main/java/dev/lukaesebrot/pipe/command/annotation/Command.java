@@ -0,0 +1,60 @@
+package dev.lukaesebrot.pipe.command.annotation;
+
+import dev.lukaesebrot.pipe.command.CaseSensitivityPolicy;
+import dev.lukaesebrot.pipe.command.PermissionPolicy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a class as a root command whose {@link SubCommand} methods get compiled into a command tree.
+ * The {@link CommandProcessor} generates a class named like the annotated one suffixed with {@code Tree}, providing a
+ * static {@code build} method which creates the {@link dev.lukaesebrot.pipe.command.Command} for an instance of the
+ * annotated class.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Command {
+
+    /**
+     * @return The name of the command
+     */
+    String value();
+
+    /**
+     * @return The aliases of the command
+     */
+    String[] aliases() default {};
+
+    /**
+     * @return The case sensitivity policy of the command and its generated intermediate sub commands
+     */
+    CaseSensitivityPolicy caseSensitivityPolicy() default CaseSensitivityPolicy.SENSITIVE;
+
+    /**
+     * @return The description of the command
+     */
+    String description() default "";
+
+    /**
+     * @return The usage of the command
+     */
+    String usage() default "";
+
+    /**
+     * @return The permissions corresponding to the command
+     */
+    String[] permissions() default {};
+
+    /**
+     * @return The permission policy of the command
+     */
+    PermissionPolicy permissionPolicy() default PermissionPolicy.ALL;
+
+}
@@ -0,0 +1,471 @@
+package dev.lukaesebrot.pipe.command.annotation;
+
+import dev.lukaesebrot.pipe.command.CaseSensitivityPolicy;
+import dev.lukaesebrot.pipe.command.ExecutionPolicy;
+import dev.lukaesebrot.pipe.command.PermissionPolicy;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates the command trees of {@link Command} classes at compile time.
+ * The generated code builds the tree through the {@link dev.lukaesebrot.pipe.command.CommandBuilder} and calls the
+ * {@link SubCommand} methods directly, so no reflection is required at runtime.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@SupportedAnnotationTypes("dev.lukaesebrot.pipe.command.annotation.Command")
+public class CommandProcessor extends AbstractProcessor {
+
+    // Define the supported sender types mapped to the execution hooks they get passed to
+    private static final Map<String, String> SENDER_HOOKS = Map.of(
+            "org.bukkit.command.CommandSender", "handleExecution",
+            "org.bukkit.entity.Player", "handlePlayerExecution",
+            "org.bukkit.command.ConsoleCommandSender", "handleConsoleExecution",
+            "org.bukkit.command.BlockCommandSender", "handleBlockExecution"
+    );
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        for (Element element : roundEnvironment.getElementsAnnotatedWith(Command.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@Command may only be used on classes");
+                continue;
+            }
+            try {
+                generate((TypeElement) element);
+            } catch (ProcessingException exception) {
+                error(exception.element, exception.getMessage());
+            } catch (IOException exception) {
+                error(element, "could not write the command tree: " + exception.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Generates the command tree class of a {@link Command} class
+     *
+     * @param type The annotated class
+     * @throws IOException If the source file could not be written
+     */
+    private void generate(TypeElement type) throws IOException {
+        Command command = type.getAnnotation(Command.class);
+        Node root = new Node(command.value());
+
+        // Collect the sub command methods into the tree
+        for (Element member : type.getEnclosedElements()) {
+            SubCommand subCommand = member.getAnnotation(SubCommand.class);
+            if (subCommand == null) {
+                continue;
+            }
+            ExecutableElement method = (ExecutableElement) member;
+            if (method.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new ProcessingException(method, "@SubCommand methods must not be private");
+            }
+            Node node = root;
+            for (String segment : subCommand.value().trim().split("\\s+")) {
+                if (!segment.isEmpty()) {
+                    node = node.children.computeIfAbsent(segment, Node::new);
+                }
+            }
+            if (node.method != null) {
+                throw new ProcessingException(method, "the sub command '" + subCommand.value() + "' is declared twice");
+            }
+            if (node == root && declaresMetadata(subCommand)) {
+                throw new ProcessingException(method, "the metadata of the root command has to be declared in @Command; @SubCommand(\"\") may only set the execution policy");
+            }
+            node.method = method;
+            node.annotation = subCommand;
+        }
+
+        // Write the generated class next to the annotated one
+        String packageName = ((PackageElement) processingEnv.getElementUtils().getPackageOf(type)).getQualifiedName().toString();
+        String className = flatName(type) + "Tree";
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * Builds the command tree of {@link ").append(type.getQualifiedName()).append("}\n")
+                .append(" * <p>\n")
+                .append(" * Generated by ").append(CommandProcessor.class.getName()).append(", do not edit.\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(CommandProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(className).append(" {\n\n")
+                .append("    private ").append(className).append("() {\n    }\n\n")
+                .append("    /**\n")
+                .append("     * Builds the command tree\n")
+                .append("     *\n")
+                .append("     * @param instance The instance to call the sub command methods on\n")
+                .append("     * @return The built command\n")
+                .append("     */\n")
+                .append("    public static dev.lukaesebrot.pipe.command.Command build(final ").append(type.getQualifiedName()).append(" instance) {\n")
+                .append("        return ");
+        appendNode(source, root, command, command.caseSensitivityPolicy(), 2);
+        source.append(";\n    }\n\n}\n");
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    /**
+     * Appends the builder expression of a node of the command tree
+     *
+     * @param source     The source to append to
+     * @param node       The node to append
+     * @param root       The annotation of the root command if the node is the root node
+     * @param rootPolicy The case sensitivity policy of the root command, applied to generated intermediate nodes
+     * @param depth      The indentation depth
+     */
+    private void appendNode(StringBuilder source, Node node, Command root, CaseSensitivityPolicy rootPolicy, int depth) {
+        String indent = "    ".repeat(depth + 2);
+        source.append("new dev.lukaesebrot.pipe.command.CommandBuilder(").append(literal(node.name)).append(")");
+
+        // Append the metadata of the command
+        SubCommand annotation = node.annotation;
+        String[] aliases = root != null ? root.aliases() : annotation != null ? annotation.aliases() : new String[0];
+        String description = root != null ? root.description() : annotation != null ? annotation.description() : "";
+        String usage = root != null ? root.usage() : annotation != null ? annotation.usage() : "";
+        String[] permissions = root != null ? root.permissions() : annotation != null ? annotation.permissions() : new String[0];
+        PermissionPolicy permissionPolicy = root != null ? root.permissionPolicy() : annotation != null ? annotation.permissionPolicy() : PermissionPolicy.ALL;
+        CaseSensitivityPolicy caseSensitivityPolicy = root != null ? root.caseSensitivityPolicy() : annotation != null ? annotation.caseSensitivityPolicy() : rootPolicy;
+        if (aliases.length != 0) {
+            source.append("\n").append(indent).append(".addAliases(").append(literals(aliases)).append(")");
+        }
+        if (caseSensitivityPolicy != CaseSensitivityPolicy.SENSITIVE) {
+            source.append("\n").append(indent).append(".setCaseSensitivityPolicy(dev.lukaesebrot.pipe.command.CaseSensitivityPolicy.").append(caseSensitivityPolicy.name()).append(")");
+        }
+        if (!description.isEmpty()) {
+            source.append("\n").append(indent).append(".setDescription(").append(literal(description)).append(")");
+        }
+        if (!usage.isEmpty()) {
+            source.append("\n").append(indent).append(".setUsage(").append(literal(usage)).append(")");
+        }
+        if (permissions.length != 0) {
+            source.append("\n").append(indent).append(".addPermissions(").append(literals(permissions)).append(")");
+        }
+        if (permissionPolicy != PermissionPolicy.ALL) {
+            source.append("\n").append(indent).append(".setPermissionPolicy(dev.lukaesebrot.pipe.command.PermissionPolicy.").append(permissionPolicy.name()).append(")");
+        }
+        if (annotation != null && annotation.executionPolicy() != ExecutionPolicy.SYNCHRONOUS) {
+            source.append("\n").append(indent).append(".setExecutionPolicy(dev.lukaesebrot.pipe.command.ExecutionPolicy.").append(annotation.executionPolicy().name()).append(")");
+        }
+
+        // Append the declared arguments and the execution handler
+        if (node.method != null) {
+            appendHandler(source, node.method, indent);
+        }
+
+        // Append the sub commands
+        for (Node child : node.children.values()) {
+            source.append("\n").append(indent).append(".addSubCommand(");
+            appendNode(source, child, null, rootPolicy, depth + 2);
+            source.append(")");
+        }
+        source.append("\n").append(indent).append(".build()");
+    }
+
+    /**
+     * Appends the declared arguments and the directly calling execution handler of a sub command method
+     *
+     * @param source The source to append to
+     * @param method The sub command method
+     * @param indent The indentation of the builder calls
+     */
+    private void appendHandler(StringBuilder source, ExecutableElement method, String indent) {
+        List<? extends VariableElement> parameters = method.getParameters();
+
+        // Resolve the hook the method gets called from by the type of its sender parameter
+        String hook = "handleExecution";
+        String senderType = "org.bukkit.command.CommandSender";
+        int firstArgument = 0;
+        if (!parameters.isEmpty()) {
+            String type = processingEnv.getTypeUtils().erasure(parameters.get(0).asType()).toString();
+            if (SENDER_HOOKS.containsKey(type)) {
+                hook = SENDER_HOOKS.get(type);
+                senderType = type;
+                firstArgument = 1;
+            }
+        }
+
+        // Declare the arguments and build the call expressions of their values
+        StringBuilder call = new StringBuilder();
+        call.append(method.getModifiers().contains(Modifier.STATIC) ? ((TypeElement) method.getEnclosingElement()).getQualifiedName() : "instance")
+                .append(".").append(method.getSimpleName()).append("(");
+        if (firstArgument == 1) {
+            call.append("sender");
+        }
+        boolean optionalDeclared = false;
+        for (int i = firstArgument; i < parameters.size(); i++) {
+            VariableElement parameter = parameters.get(i);
+            Arg arg = parameter.getAnnotation(Arg.class);
+            String name = arg != null ? arg.value() : parameter.getSimpleName().toString();
+            boolean optional = arg != null && arg.optional();
+            TypeMirror type = parameter.asType();
+
+            // Validate the declaration in advance instead of failing when the tree gets built
+            if (optional && type.getKind().isPrimitive()) {
+                throw new ProcessingException(parameter, "optional arguments require a non-primitive parameter type");
+            }
+            if (!optional && optionalDeclared) {
+                throw new ProcessingException(parameter, "required arguments must not follow optional ones");
+            }
+            if (arg != null && arg.greedy() && i != parameters.size() - 1) {
+                throw new ProcessingException(parameter, "greedy arguments have to be the last parameter");
+            }
+            optionalDeclared |= optional;
+            source.append("\n").append(indent).append(optional ? ".addOptionalArgument(" : ".addArgument(")
+                    .append(literal(name)).append(", ").append(argumentType(parameter, type, arg)).append(")");
+
+            String boxed = type.getKind().isPrimitive()
+                    ? processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(type.getKind())).getQualifiedName().toString()
+                    : processingEnv.getTypeUtils().erasure(type).toString();
+            if (i != 0) {
+                call.append(", ");
+            }
+            call.append("context.<").append(boxed).append(">get(").append(literal(name)).append(")");
+        }
+        call.append(")");
+
+        // Append the handler calling the method directly
+        source.append("\n").append(indent).append(".addHandler(new dev.lukaesebrot.pipe.command.ExecutionHandler() {\n")
+                .append(indent).append("    @Override\n")
+                .append(indent).append("    public void ").append(hook).append("(dev.lukaesebrot.pipe.command.Command command, ")
+                .append(senderType).append(" sender, dev.lukaesebrot.pipe.command.Arguments arguments) {\n")
+                .append(parameters.size() > firstArgument ? indent + "        dev.lukaesebrot.pipe.command.ArgumentContext context = arguments.getContext();\n" : "")
+                .append(indent).append("        ").append(call).append(";\n")
+                .append(indent).append("    }\n")
+                .append(indent).append("})");
+    }
+
+    /**
+     * Builds the expression creating the argument type of a parameter
+     *
+     * @param parameter The parameter to build the argument type for
+     * @param type      The type of the parameter
+     * @param arg       The argument annotation of the parameter or null if there is none
+     * @return The built expression
+     */
+    private String argumentType(VariableElement parameter, TypeMirror type, Arg arg) {
+        double min = arg != null ? arg.min() : Double.NEGATIVE_INFINITY;
+        double max = arg != null ? arg.max() : Double.POSITIVE_INFINITY;
+        String name = type.getKind().isPrimitive()
+                ? type.getKind().name().toLowerCase()
+                : processingEnv.getTypeUtils().erasure(type).toString();
+        if (arg != null && arg.greedy() && !name.equals("java.lang.String")) {
+            throw new ProcessingException(parameter, "only String arguments may be greedy");
+        }
+        switch (name) {
+            case "java.lang.String":
+                return arg != null && arg.greedy() ? "dev.lukaesebrot.pipe.command.ArgumentTypes.greedyString()" : "dev.lukaesebrot.pipe.command.ArgumentTypes.string()";
+            case "int":
+            case "java.lang.Integer": {
+                long lower = integralBound(parameter, min, max, Integer.MIN_VALUE, Integer.MAX_VALUE, true);
+                long upper = integralBound(parameter, min, max, Integer.MIN_VALUE, Integer.MAX_VALUE, false);
+                return "dev.lukaesebrot.pipe.command.ArgumentTypes.integer("
+                        + (lower == Integer.MIN_VALUE ? "java.lang.Integer.MIN_VALUE" : String.valueOf(lower)) + ", "
+                        + (upper == Integer.MAX_VALUE ? "java.lang.Integer.MAX_VALUE" : String.valueOf(upper)) + ")";
+            }
+            case "long":
+            case "java.lang.Long": {
+                long lower = integralBound(parameter, min, max, Long.MIN_VALUE, Long.MAX_VALUE, true);
+                long upper = integralBound(parameter, min, max, Long.MIN_VALUE, Long.MAX_VALUE, false);
+                return "dev.lukaesebrot.pipe.command.ArgumentTypes.longInteger("
+                        + (lower == Long.MIN_VALUE ? "java.lang.Long.MIN_VALUE" : lower + "L") + ", "
+                        + (upper == Long.MAX_VALUE ? "java.lang.Long.MAX_VALUE" : upper + "L") + ")";
+            }
+            case "double":
+            case "java.lang.Double":
+                if (Double.isInfinite(min) && Double.isInfinite(max)) {
+                    return "dev.lukaesebrot.pipe.command.ArgumentTypes.decimal()";
+                }
+                return "dev.lukaesebrot.pipe.command.ArgumentTypes.decimal("
+                        + (Double.isInfinite(min) ? "java.lang.Double.NEGATIVE_INFINITY" : min + "D") + ", "
+                        + (Double.isInfinite(max) ? "java.lang.Double.POSITIVE_INFINITY" : max + "D") + ")";
+            case "org.bukkit.entity.Player":
+                return "dev.lukaesebrot.pipe.command.ArgumentTypes.player()";
+            default:
+                if (type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM) {
+                    return "dev.lukaesebrot.pipe.command.ArgumentTypes.enumeration(" + name + ".class)";
+                }
+                throw new ProcessingException(parameter, "unsupported argument type " + type);
+        }
+    }
+
+    /**
+     * Rounds a bound of an integral argument inwards so it never accepts values outside of the declared range
+     *
+     * @param parameter The parameter the bounds got declared on
+     * @param min       The declared lower bound
+     * @param max       The declared upper bound
+     * @param minValue  The smallest value of the parameter type
+     * @param maxValue  The largest value of the parameter type
+     * @param lower     Whether to compute the lower or the upper bound
+     * @return The lower bound rounded up or the upper bound rounded down, clamped to the parameter type
+     */
+    private static long integralBound(VariableElement parameter, double min, double max, long minValue, long maxValue, boolean lower) {
+        double lowerBound = Math.ceil(min);
+        double upperBound = Math.floor(max);
+        if (lowerBound > upperBound) {
+            throw new ProcessingException(parameter, "no integral value lies between min and max");
+        }
+        double bound = lower ? lowerBound : upperBound;
+        if (bound <= minValue) {
+            return minValue;
+        }
+        if (bound >= maxValue) {
+            return maxValue;
+        }
+        return (long) bound;
+    }
+
+    /**
+     * Checks whether or not a sub command annotation declares metadata other than the execution policy
+     *
+     * @param annotation The annotation to check
+     * @return Whether or not any metadata differs from its default value
+     */
+    private static boolean declaresMetadata(SubCommand annotation) {
+        return annotation.aliases().length != 0
+                || annotation.caseSensitivityPolicy() != CaseSensitivityPolicy.SENSITIVE
+                || !annotation.description().isEmpty()
+                || !annotation.usage().isEmpty()
+                || annotation.permissions().length != 0
+                || annotation.permissionPolicy() != PermissionPolicy.ALL;
+    }
+
+    /**
+     * Builds the flat name of a possibly nested class
+     *
+     * @param type The class to build the flat name of
+     * @return The simple names of the class and its enclosing classes joined by underscores
+     */
+    private static String flatName(TypeElement type) {
+        Element enclosing = type.getEnclosingElement();
+        if (enclosing instanceof TypeElement) {
+            return flatName((TypeElement) enclosing) + "_" + type.getSimpleName();
+        }
+        return type.getSimpleName().toString();
+    }
+
+    /**
+     * Builds a Java string literal
+     *
+     * @param value The value of the literal
+     * @return The escaped and quoted literal
+     */
+    private static String literal(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char character : value.toCharArray()) {
+            switch (character) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                default:
+                    if (character < ' ' || character > '~') {
+                        builder.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        builder.append(character);
+                    }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    /**
+     * Builds a comma separated list of Java string literals
+     *
+     * @param values The values of the literals
+     * @return The joined literals
+     */
+    private static String literals(String[] values) {
+        StringBuilder builder = new StringBuilder();
+        for (String value : values) {
+            if (builder.length() != 0) {
+                builder.append(", ");
+            }
+            builder.append(literal(value));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Reports an error at a specific element
+     *
+     * @param element The element the error occurred at
+     * @param message The error message
+     */
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * Represents a node of the command tree to generate
+     */
+    private static final class Node {
+
+        // Define local variables
+        private final String name;
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private ExecutableElement method;
+        private SubCommand annotation;
+
+        private Node(String name) {
+            this.name = name;
+        }
+
+    }
+
+    /**
+     * Represents an invalid declaration aborting the generation of a command tree
+     */
+    private static final class ProcessingException extends RuntimeException {
+
+        // Define the element the error occurred at
+        private final transient Element element;
+
+        private ProcessingException(Element element, String message) {
+            super(message);
+            this.element = element;
+        }
+
+    }
+
+}
@@ -0,0 +1,67 @@
+package dev.lukaesebrot.pipe.command.annotation;
+
+import dev.lukaesebrot.pipe.command.CaseSensitivityPolicy;
+import dev.lukaesebrot.pipe.command.ExecutionPolicy;
+import dev.lukaesebrot.pipe.command.PermissionPolicy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a method of a {@link Command} class as the execution handler of a sub command.
+ * The first parameter may be the sender (a {@link org.bukkit.command.CommandSender}, {@link org.bukkit.entity.Player},
+ * {@link org.bukkit.command.ConsoleCommandSender} or {@link org.bukkit.command.BlockCommandSender}), restricting the
+ * handler to senders of that type. All other parameters are declared arguments, see {@link Arg}.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface SubCommand {
+
+    /**
+     * @return The space separated path of the sub command below the root command or an empty string for the root command
+     * itself, whose metadata other than the execution policy has to be declared in {@link Command}
+     */
+    String value();
+
+    /**
+     * @return The aliases of the sub command
+     */
+    String[] aliases() default {};
+
+    /**
+     * @return The case sensitivity policy of the sub command
+     */
+    CaseSensitivityPolicy caseSensitivityPolicy() default CaseSensitivityPolicy.SENSITIVE;
+
+    /**
+     * @return The description of the sub command
+     */
+    String description() default "";
+
+    /**
+     * @return The usage of the sub command
+     */
+    String usage() default "";
+
+    /**
+     * @return The permissions corresponding to the sub command
+     */
+    String[] permissions() default {};
+
+    /**
+     * @return The permission policy of the sub command
+     */
+    PermissionPolicy permissionPolicy() default PermissionPolicy.ALL;
+
+    /**
+     * @return The execution policy of the sub command
+     */
+    ExecutionPolicy executionPolicy() default ExecutionPolicy.SYNCHRONOUS;
+
+}
@@ -0,0 +1,115 @@
+package dev.lukaesebrot.pipe.command.metrics;
+
+import dev.lukaesebrot.pipe.command.Command;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents the invocation metrics of a single command node
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class CommandMetrics {
+
+    // Define the striped counters
+    private final LongAdder invocations;
+    private final LongAdder errors;
+    private final LongAdder denials;
+    private final LongAdder tabCompletions;
+
+    // Define the latency histograms
+    private final LatencyHistogram executionLatency;
+    private final LatencyHistogram tabCompletionLatency;
+
+    /**
+     * Creates new empty command metrics
+     */
+    public CommandMetrics() {
+        this.invocations = new LongAdder();
+        this.errors = new LongAdder();
+        this.denials = new LongAdder();
+        this.tabCompletions = new LongAdder();
+        this.executionLatency = new LatencyHistogram();
+        this.tabCompletionLatency = new LatencyHistogram();
+    }
+
+    /**
+     * Records an execution of the command
+     *
+     * @param nanos  The latency of the execution in nanoseconds
+     * @param failed Whether or not the execution threw an exception
+     */
+    public void recordExecution(long nanos, boolean failed) {
+        invocations.increment();
+        if (failed) {
+            errors.increment();
+        }
+        executionLatency.record(nanos);
+    }
+
+    /**
+     * Records a denied dispatch of the command
+     */
+    public void recordDenial() {
+        denials.increment();
+    }
+
+    /**
+     * Records a tab completion of the command
+     *
+     * @param nanos The latency of the tab completion in nanoseconds
+     */
+    public void recordTabCompletion(long nanos) {
+        tabCompletions.increment();
+        tabCompletionLatency.record(nanos);
+    }
+
+    /**
+     * Creates a point-in-time copy of the metrics
+     *
+     * @param path The path of the command node
+     * @return The created snapshot
+     */
+    public CommandMetricsSnapshot snapshot(String path) {
+        return new CommandMetricsSnapshot(
+                path,
+                invocations.sum(),
+                errors.sum(),
+                denials.sum(),
+                tabCompletions.sum(),
+                executionLatency.snapshot(),
+                tabCompletionLatency.snapshot()
+        );
+    }
+
+    /**
+     * Creates snapshots of the metrics of a command and all of its sub commands
+     *
+     * @param root The command to start at
+     * @return The snapshots of all command nodes, named by their space separated path
+     */
+    public static List<CommandMetricsSnapshot> collect(Command root) {
+        List<CommandMetricsSnapshot> snapshots = new ArrayList<>();
+        collect(root, root.getName(), snapshots);
+        return snapshots;
+    }
+
+    /**
+     * Recursively creates the snapshots of a command tree
+     *
+     * @param command   The current command
+     * @param path      The path of the current command
+     * @param snapshots The list to add the snapshots to
+     */
+    private static void collect(Command command, String path, List<CommandMetricsSnapshot> snapshots) {
+        snapshots.add(command.getMetrics().snapshot(path));
+        for (Command subCommand : command.getSubCommands()) {
+            collect(subCommand, path + " " + subCommand.getName(), snapshots);
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package dev.lukaesebrot.pipe.command.metrics;
+
+/**
+ * Represents a point-in-time copy of the {@link CommandMetrics} of a command node
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class CommandMetricsSnapshot {
+
+    // Define local variables
+    private final String path;
+    private final long invocations;
+    private final long errors;
+    private final long denials;
+    private final long tabCompletions;
+    private final LatencySnapshot executionLatency;
+    private final LatencySnapshot tabCompletionLatency;
+
+    /**
+     * Creates a new command metrics snapshot
+     *
+     * @param path                 The space separated path of the command node
+     * @param invocations          The amount of executions
+     * @param errors               The amount of executions which threw an exception
+     * @param denials              The amount of denied dispatches
+     * @param tabCompletions       The amount of tab completions
+     * @param executionLatency     The latencies of the executions
+     * @param tabCompletionLatency The latencies of the tab completions
+     */
+    public CommandMetricsSnapshot(String path,
+                                  long invocations,
+                                  long errors,
+                                  long denials,
+                                  long tabCompletions,
+                                  LatencySnapshot executionLatency,
+                                  LatencySnapshot tabCompletionLatency) {
+        this.path = path;
+        this.invocations = invocations;
+        this.errors = errors;
+        this.denials = denials;
+        this.tabCompletions = tabCompletions;
+        this.executionLatency = executionLatency;
+        this.tabCompletionLatency = tabCompletionLatency;
+    }
+
+    /**
+     * @return The space separated path of the command node
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return The amount of executions
+     */
+    public long getInvocations() {
+        return invocations;
+    }
+
+    /**
+     * @return The amount of executions which threw an exception
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return The amount of denied dispatches
+     */
+    public long getDenials() {
+        return denials;
+    }
+
+    /**
+     * @return The amount of tab completions
+     */
+    public long getTabCompletions() {
+        return tabCompletions;
+    }
+
+    /**
+     * @return The latencies of the executions
+     */
+    public LatencySnapshot getExecutionLatency() {
+        return executionLatency;
+    }
+
+    /**
+     * @return The latencies of the tab completions
+     */
+    public LatencySnapshot getTabCompletionLatency() {
+        return tabCompletionLatency;
+    }
+
+}
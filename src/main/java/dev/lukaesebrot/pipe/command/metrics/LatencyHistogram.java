@@ -0,0 +1,87 @@
+package dev.lukaesebrot.pipe.command.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Represents a lock-free latency histogram with log-linear buckets (a power of two range split into 16 linear
+ * sub-buckets), keeping the relative error of recorded values below 7% with a fixed amount of memory
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class LatencyHistogram {
+
+    // Define the bucket layout
+    private static final int PRECISION_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << PRECISION_BITS;
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKETS = bucketOf(1L << (MAX_EXPONENT + 1)) + 1;
+
+    // Define the lazily allocated bucket counters
+    private volatile AtomicLongArray buckets;
+
+    /**
+     * Resolves the bucket a value gets recorded in
+     *
+     * @param value The value to resolve the bucket of
+     * @return The index of the bucket
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Math.max(value, 0);
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT + 1);
+        int subBucket = exponent > MAX_EXPONENT ? 0 : (int) (value >>> (exponent - PRECISION_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - PRECISION_BITS + 1) << PRECISION_BITS) + subBucket;
+    }
+
+    /**
+     * Resolves the smallest value recorded in a bucket
+     *
+     * @param bucket The index of the bucket
+     * @return The smallest value of the bucket
+     */
+    static long lowerBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket >> PRECISION_BITS) + PRECISION_BITS - 1;
+        long subBucket = bucket & (SUB_BUCKETS - 1);
+        return (1L << exponent) | (subBucket << (exponent - PRECISION_BITS));
+    }
+
+    /**
+     * Records a latency
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    public void record(long nanos) {
+        AtomicLongArray buckets = this.buckets;
+        if (buckets == null) {
+            synchronized (this) {
+                buckets = this.buckets;
+                if (buckets == null) {
+                    buckets = new AtomicLongArray(BUCKETS);
+                    this.buckets = buckets;
+                }
+            }
+        }
+        buckets.incrementAndGet(bucketOf(nanos));
+    }
+
+    /**
+     * @return A point-in-time copy of the recorded latencies
+     */
+    public LatencySnapshot snapshot() {
+        AtomicLongArray buckets = this.buckets;
+        long[] counts = new long[BUCKETS];
+        if (buckets != null) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+            }
+        }
+        return new LatencySnapshot(counts);
+    }
+
+}
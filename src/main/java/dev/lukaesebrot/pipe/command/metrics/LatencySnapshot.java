@@ -0,0 +1,94 @@
+package dev.lukaesebrot.pipe.command.metrics;
+
+/**
+ * Represents a point-in-time copy of a {@link LatencyHistogram}
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class LatencySnapshot {
+
+    // Define local variables
+    private final long[] counts;
+    private final long count;
+
+    /**
+     * Creates a new latency snapshot
+     *
+     * @param counts The copied bucket counters
+     */
+    LatencySnapshot(long[] counts) {
+        this.counts = counts;
+        long count = 0;
+        for (long bucketCount : counts) {
+            count += bucketCount;
+        }
+        this.count = count;
+    }
+
+    /**
+     * @return The amount of recorded latencies
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Estimates the latency below which a given share of the recorded latencies lie
+     *
+     * @param percentile The percentile between 0 and 100
+     * @return The estimated latency in nanoseconds or 0 if nothing got recorded
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(Math.max(percentile, 0), 100) / 100));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(counts.length - 1);
+    }
+
+    /**
+     * @return The estimated highest recorded latency in nanoseconds or 0 if nothing got recorded
+     */
+    public long getMax() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return upperBoundOf(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return The estimated mean latency in nanoseconds or 0 if nothing got recorded
+     */
+    public double getMean() {
+        if (count == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                sum += counts[i] * ((LatencyHistogram.lowerBoundOf(i) + upperBoundOf(i)) / 2.0);
+            }
+        }
+        return sum / count;
+    }
+
+    /**
+     * @param bucket The index of the bucket
+     * @return The highest value of the bucket
+     */
+    private static long upperBoundOf(int bucket) {
+        return bucket + 1 < LatencyHistogram.BUCKETS ? LatencyHistogram.lowerBoundOf(bucket + 1) - 1 : LatencyHistogram.lowerBoundOf(bucket);
+    }
+
+}
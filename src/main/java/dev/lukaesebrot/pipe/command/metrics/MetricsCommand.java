@@ -0,0 +1,104 @@
+package dev.lukaesebrot.pipe.command.metrics;
+
+import dev.lukaesebrot.pipe.command.Arguments;
+import dev.lukaesebrot.pipe.command.Command;
+import dev.lukaesebrot.pipe.command.CommandBuilder;
+import dev.lukaesebrot.pipe.command.CommandRegistry;
+import dev.lukaesebrot.pipe.command.ExecutionHandler;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Builds the admin command listing the slowest command nodes
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class MetricsCommand {
+
+    // Define the amount of listed command nodes
+    private static final int LIMIT = 10;
+
+    private MetricsCommand() {
+    }
+
+    /**
+     * Builds a metrics command reporting on all root commands of a registry
+     *
+     * @param name       The name of the command
+     * @param permission The permission required to execute the command
+     * @param registry   The registry to report the root commands of
+     * @return The built command
+     */
+    public static Command create(String name, String permission, CommandRegistry registry) {
+        return create(name, permission, registry::getRegistered);
+    }
+
+    /**
+     * Builds a metrics command, e.g. to add it as an admin sub command
+     *
+     * @param name       The name of the command
+     * @param permission The permission required to execute the command
+     * @param roots      The supplier of the root commands to report on
+     * @return The built command
+     */
+    public static Command create(String name, String permission, Supplier<? extends Collection<Command>> roots) {
+        return new CommandBuilder(name)
+                .setDescription("Lists the slowest command nodes")
+                .addPermissions(permission)
+                .addHandler(new ExecutionHandler() {
+                    @Override
+                    public void handleExecution(Command command, CommandSender sender, Arguments arguments) {
+                        report(sender, roots.get());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Sends the command nodes with the highest 99th percentile execution latency to a sender
+     *
+     * @param sender The sender to send the report to
+     * @param roots  The root commands to report on
+     */
+    private static void report(CommandSender sender, Collection<Command> roots) {
+        List<CommandMetricsSnapshot> snapshots = new ArrayList<>();
+        for (Command root : roots) {
+            for (CommandMetricsSnapshot snapshot : CommandMetrics.collect(root)) {
+                if (snapshot.getInvocations() != 0 || snapshot.getTabCompletions() != 0) {
+                    snapshots.add(snapshot);
+                }
+            }
+        }
+        snapshots.sort(Comparator.comparingLong((CommandMetricsSnapshot snapshot) -> snapshot.getExecutionLatency().getPercentile(99)).reversed());
+
+        sender.sendMessage("§6Slowest commands (" + Math.min(snapshots.size(), LIMIT) + " of " + snapshots.size() + "):");
+        for (CommandMetricsSnapshot snapshot : snapshots.subList(0, Math.min(snapshots.size(), LIMIT))) {
+            LatencySnapshot execution = snapshot.getExecutionLatency();
+            sender.sendMessage("§e/" + snapshot.getPath()
+                    + " §7calls §f" + snapshot.getInvocations()
+                    + " §7errors §f" + snapshot.getErrors()
+                    + " §7denied §f" + snapshot.getDenials()
+                    + " §7p50 §f" + format(execution.getPercentile(50))
+                    + " §7p99 §f" + format(execution.getPercentile(99))
+                    + " §7max §f" + format(execution.getMax())
+                    + " §7tab p99 §f" + format(snapshot.getTabCompletionLatency().getPercentile(99)));
+        }
+    }
+
+    /**
+     * @param nanos The latency in nanoseconds
+     * @return The latency formatted in milliseconds
+     */
+    private static String format(long nanos) {
+        return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
+    }
+
+}
@@ -0,0 +1,70 @@
+package dev.lukaesebrot.pipe.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the default executor used for asynchronous work
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class AsyncExecutors {
+
+    private AsyncExecutors() {
+    }
+
+    /**
+     * @return The shared default executor, using virtual threads where the JVM supports them
+     */
+    public static ExecutorService defaultExecutor() {
+        return Holder.DEFAULT_EXECUTOR;
+    }
+
+    /**
+     * Creates a new executor running every task on its own virtual thread if the JVM supports them or on a cached
+     * pool of daemon threads otherwise
+     *
+     * @return The created executor
+     */
+    public static ExecutorService newExecutor() {
+        try {
+            // Virtual threads are only available on newer JVMs than the one we compile against
+            return (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                    .invoke();
+        } catch (Throwable ignored) {
+            return Executors.newCachedThreadPool(new DaemonThreadFactory());
+        }
+    }
+
+    /**
+     * Lazily holds the shared default executor
+     */
+    private static final class Holder {
+        private static final ExecutorService DEFAULT_EXECUTOR = newExecutor();
+    }
+
+    /**
+     * Creates named daemon threads to not block the server shutdown
+     */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        // Define the counter used to name the threads
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "pipe-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+}
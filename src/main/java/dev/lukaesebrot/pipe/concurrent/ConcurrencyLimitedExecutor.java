@@ -0,0 +1,95 @@
+package dev.lukaesebrot.pipe.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents an executor which passes at most a fixed amount of concurrently running tasks to its delegate and queues the rest
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class ConcurrencyLimitedExecutor implements Executor {
+
+    // Define local variables
+    private final Executor delegate;
+    private final int limit;
+    private final Queue<Runnable> queue;
+    private final AtomicInteger running;
+
+    /**
+     * Creates a new concurrency limited executor
+     *
+     * @param delegate The executor to run the tasks on
+     * @param limit    The maximum amount of concurrently running tasks
+     */
+    public ConcurrencyLimitedExecutor(Executor delegate, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("the concurrency limit has to be positive");
+        }
+        this.delegate = delegate;
+        this.limit = limit;
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.running = new AtomicInteger();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        queue.add(task);
+        drain();
+    }
+
+    /**
+     * Passes queued tasks to the delegate as long as the concurrency limit allows it
+     */
+    private void drain() {
+        while (!queue.isEmpty()) {
+            // Reserve a slot for the next task
+            int current = running.get();
+            if (current >= limit) {
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+
+            // Release the slot again if another thread took the task in the meantime
+            Runnable task = queue.poll();
+            if (task == null) {
+                running.decrementAndGet();
+                continue;
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        running.decrementAndGet();
+                        drain();
+                    }
+                });
+            } catch (RuntimeException exception) {
+                running.decrementAndGet();
+                throw exception;
+            }
+        }
+    }
+
+    /**
+     * @return The amount of currently running tasks
+     */
+    public int getRunning() {
+        return running.get();
+    }
+
+    /**
+     * @return The amount of tasks waiting for a free slot
+     */
+    public int getQueued() {
+        return queue.size();
+    }
+
+}
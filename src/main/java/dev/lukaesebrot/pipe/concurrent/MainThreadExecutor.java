@@ -0,0 +1,39 @@
+package dev.lukaesebrot.pipe.concurrent;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Represents an executor running tasks on the server main thread, used to hop back from asynchronous code to the Bukkit API
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class MainThreadExecutor implements Executor {
+
+    // Define the plugin to schedule the tasks with
+    private final Plugin plugin;
+
+    /**
+     * Creates a new main thread executor
+     *
+     * @param plugin The plugin to schedule the tasks with
+     */
+    public MainThreadExecutor(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        // Run the task directly if we already are on the main thread
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+            return;
+        }
+        Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+}
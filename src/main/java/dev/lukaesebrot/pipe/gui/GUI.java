@@ -2,6 +2,7 @@ package dev.lukaesebrot.pipe.gui;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.plugin.Plugin;
 
@@ -15,11 +16,13 @@ import java.util.Optional;
  * @version 1.0.0
  * @since 1.0.0
  */
-public class GUI {
+public class GUI implements GUIEventTarget {
 
     // Define local variables
+    private final GUIInventoryHolder holder;
     private final Inventory inventory;
-    private final Map<Integer, GUIComponent> components;
+    private final GUISlotTable components;
+    private final GUIUpdateQueue updates;
 
     /**
      * Creates a new GUI
@@ -29,19 +32,24 @@ public class GUI {
      * @param components The components of the inventory
      */
     public GUI(int size, String title, Map<Integer, GUIComponent> components) {
-        this.inventory = Bukkit.createInventory(new GUIInventoryHolder(), size, title);
-        this.components = components;
+        this.holder = new GUIInventoryHolder(this);
+        this.inventory = Bukkit.createInventory(holder, size, title);
+        this.components = new GUISlotTable(size, components);
 
         // Set the inventory contents
         components.forEach((slot, component) -> inventory.setItem(slot, component.getItemStack()));
+        this.updates = new GUIUpdateQueue(inventory, this.components);
     }
 
     /**
-     * Opens the GUI to a specific player
+     * Opens the GUI to a specific player, registering the {@link GUIRouter} with the plugin providing pipe if it is not
+     * registered yet
      *
      * @param player The player to open the inventory for
+     * @throws IllegalStateException If the router is not registered and pipe is not provided by a plugin
      */
     public void open(Player player) {
+        GUIRouter.ensureRegistered();
         player.openInventory(inventory);
     }
 
@@ -52,29 +60,20 @@ public class GUI {
      * @return Whether or not the given inventory belongs to this GUI
      */
     public boolean isInventory(Inventory inventory) {
-        // Check if the inventory exists
-        if (inventory == null) {
-            return false;
-        }
-
-        // Check if the inventory has a holder
-        if (inventory.getHolder() == null) {
-            return false;
-        }
-
-        // Check if the inventory holder is a GUI inventory holder
-        if (!(inventory.getHolder() instanceof GUIInventoryHolder)) {
-            return false;
-        }
-        GUIInventoryHolder inventoryHolder = (GUIInventoryHolder) inventory.getHolder();
+        return inventory != null && inventory.getHolder() == holder;
+    }
 
-        // Check if the inventory holder is the same as the one from this GUI
-        GUIInventoryHolder thisInventoryHolder = (GUIInventoryHolder) this.inventory.getHolder();
-        return inventoryHolder.getUUID().equals(thisInventoryHolder.getUUID());
+    /**
+     * @return The inventory of this GUI
+     */
+    public Inventory getInventory() {
+        return inventory;
     }
 
     /**
-     * Retrieves an optional component at a specific slot
+     * Retrieves an optional component at a specific slot.
+     * This method has to be called on the main thread; components set through {@link #set(int, GUIComponent)} show up
+     * once the update got applied with the next tick.
      *
      * @param slot The slot to search the component for
      * @return The optional GUI component
@@ -84,12 +83,48 @@ public class GUI {
     }
 
     /**
-     * Registers the GUI specific listener for this GUI
+     * Replaces the component at a specific slot.
+     * The update gets applied with the next tick, merged with all other updates of the slot queued until then, and
+     * the slot only gets resent if its item stack actually changed. This method may be called from any thread; it
+     * registers the {@link GUIRouter} like {@link #open(Player)} does if it is not registered yet.
+     *
+     * @param slot      The slot to set the component to
+     * @param component The component to set or null to clear the slot
+     * @throws IllegalStateException If the router is not registered and pipe is not provided by a plugin
+     */
+    public void set(int slot, GUIComponent component) {
+        updates.queue(slot, component);
+    }
+
+    /**
+     * Shows the component at a specific slot again with the next tick, e.g. after its item stack got modified in place.
+     * The same rules as for {@link #set(int, GUIComponent)} apply.
+     *
+     * @param slot The slot to refresh
+     */
+    public void refresh(int slot) {
+        updates.queueRefresh(slot);
+    }
+
+    /**
+     * Handles a click into the inventory of this GUI
+     *
+     * @param event The click event to handle
+     */
+    @Override
+    public void handleClick(InventoryClickEvent event) {
+        components.handleClick(event);
+    }
+
+    /**
+     * Makes sure the clicks into this GUI get handled by registering the {@link GUIRouter} if it is not registered yet
      *
-     * @param plugin The plugin to register the listener with
+     * @param plugin The plugin to register the router with
+     * @deprecated GUIs no longer need a listener of their own; register the {@link GUIRouter} once instead
      */
+    @Deprecated
     public void registerSpecificListener(Plugin plugin) {
-        plugin.getServer().getPluginManager().registerEvents(new GUISpecificListener(this), plugin);
+        GUIRouter.register(plugin);
     }
 
 }
@@ -100,4 +100,15 @@ public class GUIBuilder {
         );
     }
 
+    /**
+     * @return The built GUI template, shown to any amount of players using lightweight views
+     */
+    public GUITemplate buildTemplate() {
+        return new GUITemplate(
+                size,
+                title,
+                components
+        );
+    }
+
 }
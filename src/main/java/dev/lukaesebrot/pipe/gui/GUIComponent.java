@@ -1,5 +1,7 @@
 package dev.lukaesebrot.pipe.gui;
 
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
 
 /**
@@ -37,4 +39,33 @@ public abstract class GUIComponent {
      */
     abstract void onClick(ItemClickContext context);
 
+    /**
+     * Checks whether or not this component has to be called on click.
+     * Components which are not clickable only decide whether or not they may be dragged out, using
+     * {@link #isDraggable()}.
+     *
+     * @return Whether or not this component has to be called on click
+     */
+    boolean isClickable() {
+        return true;
+    }
+
+    /**
+     * @return Whether or not this component may be dragged out if it is not clickable
+     */
+    boolean isDraggable() {
+        return false;
+    }
+
+    /**
+     * Handles a click onto this component, cancelling it unless the item is allowed to be dragged out
+     *
+     * @param event The click event to handle
+     */
+    final void handleClick(InventoryClickEvent event) {
+        ItemClickContext context = new ItemClickContext((Player) event.getWhoClicked());
+        onClick(context);
+        event.setCancelled(!context.isDraggingAllowed());
+    }
+
 }
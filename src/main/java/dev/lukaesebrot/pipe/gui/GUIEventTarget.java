@@ -0,0 +1,36 @@
+package dev.lukaesebrot.pipe.gui;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.inventory.Inventory;
+
+/**
+ * Represents something owning a GUI inventory which the {@link GUIRouter} routes the events of the inventory to
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+interface GUIEventTarget {
+
+    /**
+     * Handles a click into the owned inventory
+     *
+     * @param event The click event to handle
+     */
+    void handleClick(InventoryClickEvent event);
+
+    /**
+     * Handles one of the viewers closing the owned inventory
+     *
+     * @param event The close event to handle
+     */
+    default void handleClose(InventoryCloseEvent event) {
+    }
+
+    /**
+     * @return The owned inventory
+     */
+    Inventory getInventory();
+
+}
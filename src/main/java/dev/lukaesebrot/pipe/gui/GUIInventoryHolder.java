@@ -17,6 +17,25 @@ public class GUIInventoryHolder implements InventoryHolder {
     // Define the UUID of this inventory holder
     private final UUID uuid = UUID.randomUUID();
 
+    // Define the GUI, GUI view or paginated GUI this inventory holder belongs to
+    private final GUIEventTarget owner;
+
+    /**
+     * Creates a new GUI inventory holder not belonging to any GUI
+     */
+    public GUIInventoryHolder() {
+        this(null);
+    }
+
+    /**
+     * Creates a new GUI inventory holder
+     *
+     * @param owner The GUI, GUI view or paginated GUI this inventory holder belongs to
+     */
+    GUIInventoryHolder(GUIEventTarget owner) {
+        this.owner = owner;
+    }
+
     /**
      * @return The UUID of this inventory holder
      */
@@ -24,9 +43,30 @@ public class GUIInventoryHolder implements InventoryHolder {
         return uuid;
     }
 
+    /**
+     * @return The GUI this inventory holder belongs to or null if it does not belong to any
+     */
+    public GUI getGUI() {
+        return owner instanceof GUI ? (GUI) owner : null;
+    }
+
+    /**
+     * @return The GUI view this inventory holder belongs to or null if it does not belong to any
+     */
+    public GUIView getView() {
+        return owner instanceof GUIView ? (GUIView) owner : null;
+    }
+
+    /**
+     * @return The GUI, GUI view or paginated GUI this inventory holder belongs to or null if it does not belong to any
+     */
+    GUIEventTarget getOwner() {
+        return owner;
+    }
+
     @Override
     public Inventory getInventory() {
-        return null;
+        return owner != null ? owner.getInventory() : null;
     }
 
 }
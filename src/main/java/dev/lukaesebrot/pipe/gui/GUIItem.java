@@ -27,7 +27,17 @@ public class GUIItem extends GUIComponent {
 
     @Override
     void onClick(ItemClickContext context) {
-        context.setDraggingAllowed(itemDraggingPolicy == ItemDraggingPolicy.DRAGGING_ALLOWED);
+        context.setDraggingAllowed(isDraggable());
+    }
+
+    @Override
+    boolean isClickable() {
+        return false;
+    }
+
+    @Override
+    boolean isDraggable() {
+        return itemDraggingPolicy == ItemDraggingPolicy.DRAGGING_ALLOWED;
     }
 
 }
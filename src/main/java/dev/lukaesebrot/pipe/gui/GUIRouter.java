@@ -0,0 +1,132 @@
+package dev.lukaesebrot.pipe.gui;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Represents the single listener routing the events of all GUI inventories to their GUI or GUI view.
+ * The owner of an inventory gets resolved through the back-reference of its {@link GUIInventoryHolder}, so routing an
+ * event costs the same no matter how many GUIs are open.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class GUIRouter implements Listener {
+
+    // Define the currently registered router
+    private static GUIRouter registered;
+
+    // Define the plugin this router is registered with
+    private final Plugin plugin;
+
+    /**
+     * Creates a new GUI router
+     *
+     * @param plugin The plugin this router is registered with
+     */
+    private GUIRouter(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Creates a router which does not get registered, e.g. to feed events into it directly.
+     * Registering it next to the one of {@link #register(Plugin)} would route every event twice.
+     *
+     * @param plugin The plugin the router belongs to
+     * @return The created router
+     */
+    static GUIRouter createUnregistered(Plugin plugin) {
+        return new GUIRouter(plugin);
+    }
+
+    /**
+     * Registers the router unless it is already registered
+     *
+     * @param plugin The plugin to register the router with
+     */
+    public static synchronized void register(Plugin plugin) {
+        if (registered != null) {
+            return;
+        }
+        registered = new GUIRouter(plugin);
+        plugin.getServer().getPluginManager().registerEvents(registered, plugin);
+    }
+
+    /**
+     * Registers the router with the plugin providing pipe unless it is already registered.
+     * This only works if pipe got shaded into a plugin; otherwise {@link #register(Plugin)} has to be called first.
+     *
+     * @return The plugin the registered router belongs to
+     * @throws IllegalStateException If the router is not registered and pipe is not provided by a plugin
+     */
+    static synchronized Plugin ensureRegistered() {
+        if (registered != null) {
+            return registered.plugin;
+        }
+        Plugin plugin;
+        try {
+            plugin = JavaPlugin.getProvidingPlugin(GUIRouter.class);
+        } catch (IllegalArgumentException | IllegalStateException exception) {
+            throw new IllegalStateException("the GUI router has to be registered to open or update GUIs", exception);
+        }
+        register(plugin);
+        return plugin;
+    }
+
+    /**
+     * @return The plugin the currently registered router belongs to or null if no router is registered
+     */
+    static synchronized Plugin getRegisteredPlugin() {
+        return registered != null ? registered.plugin : null;
+    }
+
+    /**
+     * Resolves the GUI or GUI view an inventory belongs to
+     *
+     * @param inventory The inventory to resolve the owner of
+     * @return The owner or null if the inventory does not belong to any
+     */
+    static GUIEventTarget resolve(Inventory inventory) {
+        if (inventory == null) {
+            return null;
+        }
+        InventoryHolder holder = inventory.getHolder();
+        return holder instanceof GUIInventoryHolder ? ((GUIInventoryHolder) holder).getOwner() : null;
+    }
+
+    @EventHandler
+    public void handleInventoryClick(InventoryClickEvent event) {
+        GUIEventTarget owner = resolve(event.getClickedInventory());
+        if (owner != null) {
+            owner.handleClick(event);
+        }
+    }
+
+    @EventHandler
+    public void handleInventoryClose(InventoryCloseEvent event) {
+        GUIEventTarget owner = resolve(event.getInventory());
+        if (owner != null) {
+            owner.handleClose(event);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void handlePluginDisable(PluginDisableEvent event) {
+        // Allow the router to be registered again as it gets unregistered together with the plugin
+        synchronized (GUIRouter.class) {
+            if (event.getPlugin() == plugin && registered == this) {
+                registered = null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package dev.lukaesebrot.pipe.gui;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Represents the components of a GUI, indexed by their slot.
+ * Alongside the components, bitsets mark the occupied slots, the slots holding a component which has to be called on
+ * click and the slots which may be dragged out, so most clicks get answered without calling or allocating anything.
+ * The table is only accessed on the main thread.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class GUISlotTable {
+
+    // Define local variables
+    private final GUIComponent[] components;
+    private final BitSet occupied;
+    private final BitSet clickable;
+    private final BitSet draggable;
+
+    /**
+     * Creates a new slot table
+     *
+     * @param size       The size of the inventory
+     * @param components The initial components
+     */
+    GUISlotTable(int size, Map<Integer, GUIComponent> components) {
+        this.components = new GUIComponent[size];
+        this.occupied = new BitSet(size);
+        this.clickable = new BitSet(size);
+        this.draggable = new BitSet(size);
+        components.forEach(this::set);
+    }
+
+    /**
+     * @return The size of the table
+     */
+    int size() {
+        return components.length;
+    }
+
+    /**
+     * Retrieves the component at a specific slot
+     *
+     * @param slot The slot to retrieve the component of
+     * @return The component or null if the slot is empty or outside of the table
+     */
+    GUIComponent get(int slot) {
+        return slot >= 0 && slot < components.length ? components[slot] : null;
+    }
+
+    /**
+     * Sets the component at a specific slot
+     *
+     * @param slot      The slot to set the component to
+     * @param component The component to set or null to clear the slot
+     */
+    void set(int slot, GUIComponent component) {
+        if (slot < 0 || slot >= components.length) {
+            throw new IndexOutOfBoundsException("slot " + slot + " is outside of the inventory");
+        }
+        components[slot] = component;
+        occupied.set(slot, component != null);
+        clickable.set(slot, component != null && component.isClickable());
+        draggable.set(slot, component != null && component.isDraggable());
+    }
+
+    /**
+     * Checks whether or not the item in a specific slot is guaranteed to stay untouched by clicks, i.e. whether the slot
+     * holds a component which neither handles clicks itself nor may be dragged out
+     *
+     * @param slot The slot to check
+     * @return Whether or not players are unable to change the item in the slot
+     */
+    boolean isLocked(int slot) {
+        return occupied.get(slot) && !clickable.get(slot) && !draggable.get(slot);
+    }
+
+    /**
+     * Handles a click onto a slot, only calling the component if it is clickable
+     *
+     * @param event The click event to handle
+     */
+    void handleClick(InventoryClickEvent event) {
+        int slot = event.getSlot();
+        if (slot < 0 || !occupied.get(slot)) {
+            return;
+        }
+        if (clickable.get(slot)) {
+            components[slot].handleClick(event);
+            return;
+        }
+        event.setCancelled(!draggable.get(slot));
+    }
+
+}
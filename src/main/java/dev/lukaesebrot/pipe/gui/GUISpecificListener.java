@@ -1,6 +1,5 @@
 package dev.lukaesebrot.pipe.gui;
 
-import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
@@ -9,12 +8,16 @@ import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
 
 /**
- * Represents the GUI specific listener
+ * Represents the GUI specific listener.
+ * The listener no longer handles clicks itself as the {@link GUIRouter} already routes them; it only makes sure the
+ * router is registered and unregisters itself with the first event of its GUI.
  *
  * @author Lukas Schulte Pelkum
  * @version 1.0.0
  * @since 1.0.0
+ * @deprecated Replaced by the {@link GUIRouter} handling the clicks into all GUIs with a single listener
  */
+@Deprecated
 public class GUISpecificListener implements Listener {
 
     // Define the GUI this listener corresponds to
@@ -49,12 +52,12 @@ public class GUISpecificListener implements Listener {
             return;
         }
 
-        // Check if the slot is allowed to be dragged out
-        gui.getComponentAt(event.getSlot()).ifPresent(component -> {
-            ItemClickContext context = new ItemClickContext((Player) event.getWhoClicked());
-            component.onClick(context);
-            event.setCancelled(!context.isDraggingAllowed());
-        });
+        // Hand over to the router, only handling the click if the router was not registered to receive it
+        HandlerList.unregisterAll(this);
+        if (GUIRouter.getRegisteredPlugin() == null) {
+            GUIRouter.ensureRegistered();
+            gui.handleClick(event);
+        }
     }
 
 }
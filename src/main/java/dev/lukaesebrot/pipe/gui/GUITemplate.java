@@ -0,0 +1,104 @@
+package dev.lukaesebrot.pipe.gui;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Map;
+
+/**
+ * Represents an immutable GUI layout shared by any amount of {@link GUIView}s.
+ * The components and the resulting inventory contents get computed once; views only store what differs for their
+ * viewer.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class GUITemplate {
+
+    // Define local variables
+    private final int size;
+    private final String title;
+    private final GUISlotTable components;
+    private final ItemStack[] contents;
+
+    /**
+     * Creates a new GUI template
+     *
+     * @param size       The size of the inventories
+     * @param title      The title of the inventories
+     * @param components The components of the inventories
+     */
+    public GUITemplate(int size, String title, Map<Integer, GUIComponent> components) {
+        this.size = size;
+        this.title = title;
+        this.components = new GUISlotTable(size, components);
+        this.contents = new ItemStack[size];
+        components.forEach((slot, component) -> this.contents[slot] = component.getItemStack());
+    }
+
+    /**
+     * @return The size of the inventories
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return The title of the inventories
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Retrieves the shared component at a specific slot
+     *
+     * @param slot The slot to retrieve the component of
+     * @return The component or null if there is none
+     */
+    GUIComponent getComponent(int slot) {
+        return components.get(slot);
+    }
+
+    /**
+     * Handles a click onto a slot which is not overridden by the clicked view
+     *
+     * @param event The click event to handle
+     */
+    void handleClick(InventoryClickEvent event) {
+        components.handleClick(event);
+    }
+
+    /**
+     * @return A copy of the shared inventory contents
+     */
+    ItemStack[] copyContents() {
+        return contents.clone();
+    }
+
+    /**
+     * Creates a view of this template for a specific player without opening it
+     *
+     * @param viewer The player the view is meant for
+     * @return The created view
+     */
+    public GUIView createView(Player viewer) {
+        return new GUIView(this, viewer);
+    }
+
+    /**
+     * Creates a view of this template for a specific player and opens it
+     *
+     * @param viewer The player to open the view for
+     * @return The opened view
+     * @throws IllegalStateException If the {@link GUIRouter} is not registered and pipe is not provided by a plugin
+     */
+    public GUIView open(Player viewer) {
+        GUIView view = createView(viewer);
+        view.open();
+        return view;
+    }
+
+}
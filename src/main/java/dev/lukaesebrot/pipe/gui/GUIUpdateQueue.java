@@ -0,0 +1,158 @@
+package dev.lukaesebrot.pipe.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Collects the slot updates of a GUI and applies them once per tick.
+ * Multiple updates of the same slot within a tick get merged into the latest one, and only slots whose item stack
+ * differs from the one in the inventory get written. Locked slots get compared against the item stack last sent to the
+ * inventory; all other slots may have been changed by players, so they get compared against the inventory itself.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+final class GUIUpdateQueue {
+
+    // Define the components marking a slot which got cleared or whose component has to be shown again
+    private static final GUIComponent CLEARED = new GUIItem(null, ItemDraggingPolicy.DRAGGING_DENIED);
+    private static final GUIComponent REFRESHED = new GUIItem(null, ItemDraggingPolicy.DRAGGING_DENIED);
+
+    // Define local variables
+    private final Inventory inventory;
+    private final GUISlotTable components;
+    private final ItemStack[] shown;
+    private final GUIComponent[] pending;
+    private final BitSet dirty;
+    private boolean scheduled;
+
+    /**
+     * Creates a new update queue
+     *
+     * @param inventory  The inventory to write the updates to
+     * @param components The components of the GUI, only modified on the main thread
+     */
+    GUIUpdateQueue(Inventory inventory, GUISlotTable components) {
+        this.inventory = inventory;
+        this.components = components;
+        this.shown = new ItemStack[components.size()];
+        this.pending = new GUIComponent[shown.length];
+        this.dirty = new BitSet(shown.length);
+        for (int slot = 0; slot < shown.length; slot++) {
+            GUIComponent component = components.get(slot);
+            shown[slot] = component != null ? copy(component.getItemStack()) : null;
+        }
+    }
+
+    /**
+     * Queues a component to be shown in a specific slot from the next tick on
+     *
+     * @param slot      The slot to update
+     * @param component The component to show or null to clear the slot
+     */
+    void queue(int slot, GUIComponent component) {
+        enqueue(slot, component != null ? component : CLEARED);
+    }
+
+    /**
+     * Queues the component of a specific slot to be shown again, e.g. because its item stack got modified in place
+     *
+     * @param slot The slot to update
+     */
+    void queueRefresh(int slot) {
+        enqueue(slot, REFRESHED);
+    }
+
+    /**
+     * Merges an update into the queued ones and schedules a flush if none is scheduled yet
+     *
+     * @param slot   The slot to update
+     * @param update The component or marker to apply
+     */
+    private void enqueue(int slot, GUIComponent update) {
+        if (slot < 0 || slot >= shown.length) {
+            throw new IndexOutOfBoundsException("slot " + slot + " is outside of the inventory");
+        }
+        Plugin plugin;
+        synchronized (this) {
+            // A refresh does not override a component which is about to be shown anyway
+            if (update != REFRESHED || !dirty.get(slot)) {
+                pending[slot] = update;
+            }
+            dirty.set(slot);
+            if (scheduled) {
+                return;
+            }
+            plugin = GUIRouter.ensureRegistered();
+            scheduled = true;
+        }
+
+        // Schedule the flush outside of the lock as the scheduler may run it right away
+        try {
+            Bukkit.getScheduler().runTask(plugin, this::flush);
+        } catch (RuntimeException exception) {
+            synchronized (this) {
+                scheduled = false;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Applies all queued updates, writing only the slots whose item stack actually changed
+     */
+    private void flush() {
+        // Take the queued updates so new ones schedule the next flush
+        GUIComponent[] updates = new GUIComponent[shown.length];
+        synchronized (this) {
+            for (int slot = dirty.nextSetBit(0); slot >= 0; slot = dirty.nextSetBit(slot + 1)) {
+                updates[slot] = pending[slot];
+                pending[slot] = null;
+            }
+            dirty.clear();
+            scheduled = false;
+        }
+
+        for (int slot = 0; slot < updates.length; slot++) {
+            GUIComponent component = updates[slot];
+            if (component == null) {
+                continue;
+            }
+            // Players may have changed the slot unless the component shown until now locks it
+            ItemStack current = components.isLocked(slot) ? shown[slot] : inventory.getItem(slot);
+            if (component == REFRESHED) {
+                component = components.get(slot);
+            } else {
+                if (component == CLEARED) {
+                    component = null;
+                }
+                components.set(slot, component);
+            }
+            ItemStack itemStack = component != null ? component.getItemStack() : null;
+            boolean changed = !Objects.equals(current, itemStack);
+            if (changed) {
+                inventory.setItem(slot, itemStack);
+            }
+            if (changed || current != shown[slot]) {
+                shown[slot] = copy(itemStack);
+            }
+        }
+    }
+
+    /**
+     * Copies an item stack so later in-place modifications of it are detected as changes
+     *
+     * @param itemStack The item stack to copy
+     * @return The copy or null if the item stack is null
+     */
+    private static ItemStack copy(ItemStack itemStack) {
+        return itemStack != null ? itemStack.clone() : null;
+    }
+
+}
@@ -0,0 +1,191 @@
+package dev.lukaesebrot.pipe.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Represents the instance of a {@link GUITemplate} shown to a single player.
+ * A view only stores the slots it overrides and its per-viewer state; everything else gets shared with the template.
+ * Clicks get answered by the slot table of the template or, for overridden slots, by the one of the view, so a view
+ * treats its slots exactly like a {@link GUI} does.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class GUIView implements GUIEventTarget {
+
+    // Define local variables
+    private final GUITemplate template;
+    private final Player viewer;
+    private GUISlotTable overrides;
+    private BitSet overridden;
+    private Map<String, Object> state;
+    private Inventory inventory;
+
+    /**
+     * Creates a new GUI view
+     *
+     * @param template The template to view
+     * @param viewer   The player the view is meant for
+     */
+    GUIView(GUITemplate template, Player viewer) {
+        this.template = template;
+        this.viewer = viewer;
+    }
+
+    /**
+     * @return The template this view shows
+     */
+    public GUITemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * @return The player this view is meant for
+     */
+    public Player getViewer() {
+        return viewer;
+    }
+
+    /**
+     * Overrides the component at a specific slot for this view only
+     *
+     * @param slot      The slot to override
+     * @param component The component to show instead of the shared one or null to show nothing
+     * @return This view
+     */
+    public GUIView set(int slot, GUIComponent component) {
+        if (slot < 0 || slot >= template.getSize()) {
+            throw new IndexOutOfBoundsException("slot " + slot + " is outside of the inventory");
+        }
+        if (overrides == null) {
+            overrides = new GUISlotTable(template.getSize(), Map.of());
+            overridden = new BitSet(template.getSize());
+        }
+        overrides.set(slot, component);
+        overridden.set(slot);
+        if (inventory != null) {
+            inventory.setItem(slot, component != null ? component.getItemStack() : null);
+        }
+        return this;
+    }
+
+    /**
+     * Removes the override of a specific slot so the shared component gets shown again
+     *
+     * @param slot The slot to reset
+     * @return This view
+     */
+    public GUIView reset(int slot) {
+        if (isOverridden(slot)) {
+            overrides.set(slot, null);
+            overridden.clear(slot);
+            if (inventory != null) {
+                GUIComponent component = template.getComponent(slot);
+                inventory.setItem(slot, component != null ? component.getItemStack() : null);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Retrieves an optional component at a specific slot, preferring the override of this view
+     *
+     * @param slot The slot to search the component for
+     * @return The optional GUI component
+     */
+    public Optional<GUIComponent> getComponentAt(int slot) {
+        return Optional.ofNullable(isOverridden(slot) ? overrides.get(slot) : template.getComponent(slot));
+    }
+
+    /**
+     * @param slot The slot to check
+     * @return Whether or not the slot is overridden for this view, possibly by clearing it
+     */
+    private boolean isOverridden(int slot) {
+        return overridden != null && slot >= 0 && overridden.get(slot);
+    }
+
+    /**
+     * Retrieves a value of the per-viewer state
+     *
+     * @param key The key of the value
+     * @param <T> The type of the value
+     * @return The optional value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> getState(String key) {
+        return state != null ? Optional.ofNullable((T) state.get(key)) : Optional.empty();
+    }
+
+    /**
+     * Stores a value in the per-viewer state
+     *
+     * @param key   The key of the value
+     * @param value The value to store or null to remove it
+     * @return This view
+     */
+    public GUIView setState(String key, Object value) {
+        if (value == null) {
+            if (state != null) {
+                state.remove(key);
+            }
+            return this;
+        }
+        if (state == null) {
+            state = new HashMap<>(4);
+        }
+        state.put(key, value);
+        return this;
+    }
+
+    /**
+     * Opens this view to its viewer, creating its inventory on first use and registering the {@link GUIRouter} with the
+     * plugin providing pipe if it is not registered yet
+     *
+     * @throws IllegalStateException If the router is not registered and pipe is not provided by a plugin
+     */
+    public void open() {
+        GUIRouter.ensureRegistered();
+        viewer.openInventory(getInventory());
+    }
+
+    /**
+     * @return The inventory of this view, created on first use
+     */
+    public Inventory getInventory() {
+        if (inventory == null) {
+            // Start with the shared contents and apply the overrides on top
+            ItemStack[] contents = template.copyContents();
+            if (overridden != null) {
+                for (int slot = overridden.nextSetBit(0); slot >= 0; slot = overridden.nextSetBit(slot + 1)) {
+                    GUIComponent component = overrides.get(slot);
+                    contents[slot] = component != null ? component.getItemStack() : null;
+                }
+            }
+            inventory = Bukkit.createInventory(new GUIInventoryHolder(this), template.getSize(), template.getTitle());
+            inventory.setContents(contents);
+        }
+        return inventory;
+    }
+
+    @Override
+    public void handleClick(InventoryClickEvent event) {
+        // Let the overriding or shared slot table handle the click
+        if (isOverridden(event.getSlot())) {
+            overrides.handleClick(event);
+        } else {
+            template.handleClick(event);
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package dev.lukaesebrot.pipe.gui;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the data source of a {@link PaginatedGUI}, loading a range of entries at a time
+ *
+ * @param <T> The type of the entries
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface PageSource<T> {
+
+    /**
+     * Loads a range of entries. Blocking sources get called off the main thread.
+     *
+     * @param offset The index of the first entry to load
+     * @param limit  The maximum amount of entries to load
+     * @return The loaded entries; fewer than the limit if the end of the data got reached
+     */
+    List<T> load(int offset, int limit);
+
+    /**
+     * Checks whether or not loading entries may block, e.g. because they get queried from a database
+     *
+     * @return Whether or not the source has to be called off the main thread
+     */
+    default boolean isBlocking() {
+        return true;
+    }
+
+    /**
+     * Creates a non-blocking source viewing an indexed list without copying it
+     *
+     * @param entries The entries to view
+     * @param <T>     The type of the entries
+     * @return The created source
+     */
+    static <T> PageSource<T> of(List<T> entries) {
+        return new PageSource<>() {
+            @Override
+            public List<T> load(int offset, int limit) {
+                if (offset >= entries.size()) {
+                    return Collections.emptyList();
+                }
+                return entries.subList(offset, Math.min(offset + limit, entries.size()));
+            }
+
+            @Override
+            public boolean isBlocking() {
+                return false;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,259 @@
+package dev.lukaesebrot.pipe.gui;
+
+import dev.lukaesebrot.pipe.concurrent.AsyncExecutors;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * Represents a GUI paging through the entries of a {@link PageSource}.
+ * Only the entries of the visible page get turned into components; the neighbouring pages get loaded in the background
+ * and changing the page replaces the contents of the same inventory instead of opening a new one.
+ * Clicks outside of the navigation buttons get handled like in a {@link GUI}.
+ * All methods have to be called on the main thread.
+ *
+ * @param <T> The type of the entries
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class PaginatedGUI<T> implements GUIEventTarget {
+
+    // Define local variables
+    private final PageSource<T> source;
+    private final Function<T, GUIComponent> componentFactory;
+    private final int[] contentSlots;
+    private final int previousSlot;
+    private final ItemStack previousItem;
+    private final int nextSlot;
+    private final ItemStack nextItem;
+    private final GUIComponent[] staticComponents;
+    private final Executor mainThreadExecutor;
+    private final Inventory inventory;
+    private final GUISlotTable components;
+    private final Map<Integer, CompletableFuture<List<T>>> pages;
+    private int page;
+    private int renderedPage;
+    private boolean hasNext;
+
+    /**
+     * Creates a new paginated GUI
+     *
+     * @param size               The size of the inventory
+     * @param title              The title of the inventory
+     * @param source             The source to load the entries from
+     * @param componentFactory   The factory turning entries into components
+     * @param contentSlots       The slots showing entries in order
+     * @param previousSlot       The slot of the button showing the previous page
+     * @param previousItem       The item of the button showing the previous page
+     * @param nextSlot           The slot of the button showing the next page
+     * @param nextItem           The item of the button showing the next page
+     * @param staticComponents   The components shown on every page
+     * @param mainThreadExecutor The executor running tasks on the main thread
+     */
+    PaginatedGUI(int size,
+                 String title,
+                 PageSource<T> source,
+                 Function<T, GUIComponent> componentFactory,
+                 int[] contentSlots,
+                 int previousSlot,
+                 ItemStack previousItem,
+                 int nextSlot,
+                 ItemStack nextItem,
+                 Map<Integer, GUIComponent> staticComponents,
+                 Executor mainThreadExecutor) {
+        this.source = source;
+        this.componentFactory = componentFactory;
+        this.contentSlots = contentSlots;
+        this.previousSlot = previousSlot;
+        this.previousItem = previousItem;
+        this.nextSlot = nextSlot;
+        this.nextItem = nextItem;
+        this.staticComponents = new GUIComponent[size];
+        staticComponents.forEach((slot, component) -> this.staticComponents[slot] = component);
+        this.mainThreadExecutor = mainThreadExecutor;
+        this.inventory = Bukkit.createInventory(new GUIInventoryHolder(this), size, title);
+        this.components = new GUISlotTable(size, Map.of());
+        this.pages = new ConcurrentHashMap<>();
+        this.page = -1;
+        this.renderedPage = -1;
+    }
+
+    /**
+     * Opens the GUI to a specific player, showing the first page if no page got shown yet and registering the
+     * {@link GUIRouter} with the plugin providing pipe if it is not registered yet
+     *
+     * @param player The player to open the inventory for
+     * @throws IllegalStateException If the router is not registered and pipe is not provided by a plugin
+     */
+    public void open(Player player) {
+        GUIRouter.ensureRegistered();
+        if (page < 0) {
+            showPage(0);
+        }
+        player.openInventory(inventory);
+    }
+
+    /**
+     * @return The index of the page currently shown in the inventory, starting at 0
+     */
+    public int getPage() {
+        return Math.max(renderedPage, 0);
+    }
+
+    /**
+     * Shows a specific page in the inventory, keeping the current contents until the entries got loaded
+     *
+     * @param page The index of the page to show
+     */
+    public void showPage(int page) {
+        if (page < 0) {
+            return;
+        }
+        this.page = page;
+
+        // Forget the pages which are no neighbours of the requested one
+        pages.keySet().removeIf(loaded -> Math.abs(loaded - page) > 1);
+
+        // Render the page as soon as it is loaded and prefetch its neighbours
+        CompletableFuture<List<T>> entries = load(page);
+        if (entries.isDone() && !entries.isCompletedExceptionally()) {
+            render(page, entries.join());
+        } else {
+            entries.thenAcceptAsync(loaded -> render(page, loaded), mainThreadExecutor);
+        }
+        load(page + 1);
+        if (page > 0) {
+            load(page - 1);
+        }
+    }
+
+    /**
+     * Loads the entries of a page unless they are already loaded or being loaded
+     *
+     * @param page The index of the page to load
+     * @return The future completing with the entries of the page
+     */
+    private CompletableFuture<List<T>> load(int page) {
+        CompletableFuture<List<T>> future = pages.get(page);
+        if (future != null) {
+            return future;
+        }
+
+        // Load one entry more than fits to know whether or not a next page exists
+        int offset = page * contentSlots.length;
+        int limit = contentSlots.length + 1;
+        if (source.isBlocking()) {
+            future = CompletableFuture.supplyAsync(() -> source.load(offset, limit), AsyncExecutors.defaultExecutor());
+        } else {
+            future = new CompletableFuture<>();
+            try {
+                future.complete(source.load(offset, limit));
+            } catch (RuntimeException exception) {
+                future.completeExceptionally(exception);
+            }
+        }
+        pages.put(page, future);
+
+        // Forget failed pages so that they get loaded again the next time they are requested
+        CompletableFuture<List<T>> loading = future;
+        future.whenComplete((loaded, failure) -> {
+            if (failure != null) {
+                pages.remove(page, loading);
+                Bukkit.getLogger().log(Level.WARNING, "Could not load page " + page + " of a paginated GUI", failure);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Turns the entries of a page into components and replaces the contents of the inventory with them
+     *
+     * @param page    The index of the page
+     * @param entries The entries of the page, including the first entry of the next page if it exists
+     */
+    private void render(int page, List<T> entries) {
+        // Ignore pages which got loaded after another page got requested
+        if (page != this.page) {
+            return;
+        }
+        renderedPage = page;
+        hasNext = entries.size() > contentSlots.length;
+
+        // Combine the static components, the entries and the navigation buttons
+        for (int slot = 0; slot < staticComponents.length; slot++) {
+            components.set(slot, staticComponents[slot]);
+        }
+        for (int i = 0; i < contentSlots.length; i++) {
+            components.set(contentSlots[i], i < entries.size() ? componentFactory.apply(entries.get(i)) : null);
+        }
+        if (page > 0) {
+            components.set(previousSlot, null);
+        }
+        if (hasNext) {
+            components.set(nextSlot, null);
+        }
+        ItemStack[] contents = new ItemStack[staticComponents.length];
+        for (int slot = 0; slot < contents.length; slot++) {
+            GUIComponent component = components.get(slot);
+            contents[slot] = component != null ? component.getItemStack() : null;
+        }
+        if (page > 0) {
+            contents[previousSlot] = previousItem;
+        }
+        if (hasNext) {
+            contents[nextSlot] = nextItem;
+        }
+        inventory.setContents(contents);
+    }
+
+    @Override
+    public void handleClick(InventoryClickEvent event) {
+        // Navigate from the shown page as the buttons belong to it, even while another page is still loading
+        int slot = event.getSlot();
+        if (slot == previousSlot && renderedPage > 0) {
+            event.setCancelled(true);
+            showPage(renderedPage - 1);
+            return;
+        }
+        if (slot == nextSlot && hasNext) {
+            event.setCancelled(true);
+            showPage(renderedPage + 1);
+            return;
+        }
+        components.handleClick(event);
+    }
+
+    /**
+     * Forgets the loaded pages once the last viewer closed the inventory; the shown page stays in the inventory
+     *
+     * @param event The close event to handle
+     */
+    @Override
+    public void handleClose(InventoryCloseEvent event) {
+        for (HumanEntity viewer : inventory.getViewers()) {
+            if (viewer != event.getPlayer()) {
+                return;
+            }
+        }
+        pages.clear();
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+}
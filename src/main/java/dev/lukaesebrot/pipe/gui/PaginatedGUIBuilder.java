@@ -0,0 +1,160 @@
+package dev.lukaesebrot.pipe.gui;
+
+import dev.lukaesebrot.pipe.concurrent.MainThreadExecutor;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Represents a paginated GUI builder
+ *
+ * @param <T> The type of the entries
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class PaginatedGUIBuilder<T> {
+
+    // Define local variables
+    private final Plugin plugin;
+    private final PageSource<T> source;
+    private final Function<T, GUIComponent> componentFactory;
+    private int size;
+    private String title;
+    private int[] contentSlots;
+    private int previousSlot;
+    private ItemStack previousItem;
+    private int nextSlot;
+    private ItemStack nextItem;
+    private final Map<Integer, GUIComponent> components;
+
+    /**
+     * Creates a new paginated GUI builder with default values
+     *
+     * @param plugin           The plugin to register the GUI router with and to apply loaded pages with on the main thread
+     * @param source           The source to load the entries from
+     * @param componentFactory The factory turning entries into components
+     */
+    public PaginatedGUIBuilder(Plugin plugin, PageSource<T> source, Function<T, GUIComponent> componentFactory) {
+        this.plugin = plugin;
+        this.source = source;
+        this.componentFactory = componentFactory;
+        this.size = 54;
+        this.title = "GUI";
+        this.contentSlots = null;
+        this.previousSlot = -1;
+        this.previousItem = new ItemStack(Material.ARROW);
+        this.nextSlot = -1;
+        this.nextItem = new ItemStack(Material.ARROW);
+        this.components = new HashMap<>();
+    }
+
+    /**
+     * Sets the size of the GUI
+     *
+     * @param size The size of the GUI, including the row holding the navigation buttons
+     * @return The new paginated GUI builder state
+     */
+    public PaginatedGUIBuilder<T> setSize(int size) {
+        this.size = size;
+        return this;
+    }
+
+    /**
+     * Sets the title of the GUI
+     *
+     * @param title The title of the GUI
+     * @return The new paginated GUI builder state
+     */
+    public PaginatedGUIBuilder<T> setTitle(String title) {
+        this.title = title;
+        return this;
+    }
+
+    /**
+     * Sets the slots showing the entries of a page in order.
+     * If none are set, every slot except for the last row is used.
+     *
+     * @param contentSlots The slots to show the entries in
+     * @return The new paginated GUI builder state
+     */
+    public PaginatedGUIBuilder<T> setContentSlots(int... contentSlots) {
+        this.contentSlots = contentSlots.clone();
+        return this;
+    }
+
+    /**
+     * Sets the button showing the previous page.
+     * If none is set, an arrow is placed in the first slot of the last row.
+     *
+     * @param slot      The slot of the button
+     * @param itemStack The item stack of the button
+     * @return The new paginated GUI builder state
+     */
+    public PaginatedGUIBuilder<T> setPreviousButton(int slot, ItemStack itemStack) {
+        this.previousSlot = slot;
+        this.previousItem = itemStack;
+        return this;
+    }
+
+    /**
+     * Sets the button showing the next page.
+     * If none is set, an arrow is placed in the last slot of the last row.
+     *
+     * @param slot      The slot of the button
+     * @param itemStack The item stack of the button
+     * @return The new paginated GUI builder state
+     */
+    public PaginatedGUIBuilder<T> setNextButton(int slot, ItemStack itemStack) {
+        this.nextSlot = slot;
+        this.nextItem = itemStack;
+        return this;
+    }
+
+    /**
+     * Sets a component shown on every page, e.g. to decorate the navigation row
+     *
+     * @param slot      The slot to set the component to
+     * @param component The component to set
+     * @return The new paginated GUI builder state
+     */
+    public PaginatedGUIBuilder<T> set(int slot, GUIComponent component) {
+        components.put(slot, component);
+        return this;
+    }
+
+    /**
+     * Builds the paginated GUI and registers the {@link GUIRouter} with the plugin if it is not registered yet
+     *
+     * @return The built paginated GUI
+     */
+    public PaginatedGUI<T> build() {
+        if (size < 18 || size % 9 != 0) {
+            throw new IllegalArgumentException("the size of a paginated GUI must be a multiple of 9 of at least 18");
+        }
+        int[] contentSlots = this.contentSlots != null ? this.contentSlots : IntStream.range(0, size - 9).toArray();
+        if (contentSlots.length == 0) {
+            throw new IllegalArgumentException("a paginated GUI needs at least one content slot");
+        }
+        GUIRouter.register(plugin);
+        return new PaginatedGUI<>(
+                size,
+                title,
+                source,
+                componentFactory,
+                contentSlots,
+                previousSlot >= 0 ? previousSlot : size - 9,
+                previousItem,
+                nextSlot >= 0 ? nextSlot : size - 1,
+                nextItem,
+                components,
+                new MainThreadExecutor(plugin)
+        );
+    }
+
+}
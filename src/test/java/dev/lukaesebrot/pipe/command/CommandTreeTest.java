@@ -0,0 +1,124 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests the interceptors and copy-on-write modifications of command trees
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class CommandTreeTest {
+
+    // Define the calls recorded by the interceptors and handlers
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    void sharedSubCommandRunsInterceptorsOfDispatchPath() {
+        Command shared = leaf("shared");
+        Command first = new CommandBuilder("first").addInterceptor(interceptor("first")).addSubCommand(shared).build();
+        Command second = new CommandBuilder("second").addInterceptor(interceptor("second")).addSubCommand(shared).build();
+
+        emit(first, "shared");
+        emit(second, "shared");
+        assertEquals(List.of("first", "shared", "second", "shared"), calls);
+    }
+
+    @Test
+    void interceptorsRunFromRootToLeaf() {
+        Command root = new CommandBuilder("root")
+                .addInterceptor(interceptor("root"))
+                .addSubCommand(new CommandBuilder("middle")
+                        .addInterceptor(interceptor("middle"))
+                        .addSubCommand(new CommandBuilder("leaf")
+                                .addInterceptor(interceptor("leaf"))
+                                .addHandler(handler("handler"))
+                                .build())
+                        .build())
+                .build();
+
+        emit(root, "middle", "leaf");
+        assertEquals(List.of("root", "middle", "leaf", "handler"), calls);
+    }
+
+    @Test
+    void copiesLeaveOriginalTreeUntouched() {
+        Command middle = new CommandBuilder("middle").addSubCommand(leaf("old")).build();
+        Command root = new CommandBuilder("root").addInterceptor(interceptor("root")).addSubCommand(middle).build();
+
+        // Copy a non-root node and publish it through a copy of the root
+        Command copy = root.withSubCommand(middle.withSubCommand(leaf("new")));
+        emit(copy, "middle", "new");
+        emit(copy, "middle", "old");
+        emit(root, "middle", "old");
+        emit(root, "middle", "new");
+        assertEquals(List.of("root", "new", "root", "old", "root", "old", "root"), calls);
+
+        // The original nodes stay unchanged while the copies share their metrics
+        assertEquals(1, root.getSubCommand("middle").orElseThrow().getSubCommands().length);
+        assertSame(root.getMetrics(), copy.getMetrics());
+        assertEquals(0, copy.withoutSubCommand("middle").getSubCommands().length);
+        assertEquals(1, copy.getSubCommands().length);
+    }
+
+    /**
+     * Creates a sub command recording its executions
+     *
+     * @param name The name of the sub command
+     * @return The created sub command
+     */
+    private Command leaf(String name) {
+        return new CommandBuilder(name).addHandler(handler(name)).build();
+    }
+
+    /**
+     * @param name The name to record
+     * @return A handler recording its calls
+     */
+    private ExecutionHandler handler(String name) {
+        return ExecutionHandler.of((command, sender, arguments) -> calls.add(name));
+    }
+
+    /**
+     * @param name The name to record
+     * @return An interceptor recording its calls
+     */
+    private ExecutionInterceptor interceptor(String name) {
+        return (command, sender, arguments) -> calls.add(name);
+    }
+
+    /**
+     * Emits a command synchronously with a sender holding every permission
+     *
+     * @param command   The command to emit
+     * @param arguments The arguments to emit the command with
+     */
+    private static void emit(Command command, String... arguments) {
+        CommandSender sender = (CommandSender) Proxy.newProxyInstance(CommandTreeTest.class.getClassLoader(), new Class<?>[]{CommandSender.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return "tester";
+                case "hasPermission":
+                case "isOp":
+                    return true;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return null;
+            }
+        });
+        command.emit(sender, arguments).toCompletableFuture().join();
+    }
+
+}
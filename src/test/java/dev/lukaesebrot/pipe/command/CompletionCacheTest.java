@@ -0,0 +1,41 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the lookups of the {@link CompletionCache}
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class CompletionCacheTest {
+
+    @Test
+    void returnsMutableCopies() {
+        CompletionCache cache = new CompletionCache(prefix -> CompletableFuture.completedFuture(List.of("alpha", "alps", "beta")), Duration.ofMinutes(1), 16);
+
+        // The first lookup loads the completions in the background and answers with an empty list
+        List<String> missing = cache.get("al");
+        missing.add("added");
+
+        // Later lookups answer with the cached completions, which callers may sort and extend
+        List<String> completions = cache.get("al");
+        assertEquals(List.of("alpha", "alps"), completions);
+        completions.add("added");
+        completions.sort(null);
+        assertEquals(List.of("alpha", "alps"), cache.get("al"));
+
+        // Longer prefixes fall back to the filtered completions of the cached shorter one
+        List<String> fallback = cache.get("alph");
+        fallback.add("added");
+        assertEquals(List.of("alpha", "added"), fallback);
+    }
+
+}
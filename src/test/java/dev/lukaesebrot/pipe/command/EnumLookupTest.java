@@ -0,0 +1,42 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the name lookups and completions of the {@link EnumLookup}
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class EnumLookupTest {
+
+    // Define the looked up elements
+    private enum Color {
+        RED, ROSE, BLUE
+    }
+
+    @Test
+    void findsElementsIgnoringCase() {
+        assertEquals(Optional.of(Color.ROSE), EnumLookup.of(Color.class).find("rOsE"));
+        assertEquals(Optional.empty(), EnumLookup.of(Color.class).find("green"));
+    }
+
+    @Test
+    void returnsMutableCompletions() {
+        List<String> completions = EnumLookup.of(Color.class).complete("r");
+        assertEquals(List.of("RED", "ROSE"), completions);
+        completions.add("added");
+
+        // Bukkit sorts and extends the completions, including empty ones
+        List<String> missing = EnumLookup.of(Color.class).complete("g");
+        missing.add("added");
+        assertEquals(List.of("added"), missing);
+    }
+
+}
@@ -0,0 +1,83 @@
+package dev.lukaesebrot.pipe.command;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the execution hooks the handler dispatch calls per type of sender
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class HandlerDispatchTest {
+
+    // Define the calls recorded by the handlers
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    void callsOverriddenHooksMatchingSender() {
+        HandlerDispatch dispatch = new HandlerDispatch(new ExecutionHandler[]{
+                new ExecutionHandler() {
+                    @Override
+                    public void handleExecution(Command command, CommandSender sender, Arguments arguments) {
+                        calls.add("general");
+                    }
+
+                    @Override
+                    public void handlePlayerExecution(Command command, Player player, Arguments arguments) {
+                        calls.add("player");
+                    }
+                },
+                ExecutionHandler.ofConsole((command, sender, arguments) -> calls.add("typed console")),
+                ExecutionHandler.ofPlayer((command, player, arguments) -> calls.add("typed player")),
+                ExecutionHandler.of((command, sender, arguments) -> calls.add("typed general"))
+        });
+
+        assertEquals(List.of("general", "player", "typed player", "typed general"), dispatch(dispatch, Player.class));
+        assertEquals(List.of("general", "typed console", "typed general"), dispatch(dispatch, ConsoleCommandSender.class));
+        assertEquals(List.of("general", "typed general"), dispatch(dispatch, CommandSender.class));
+    }
+
+    @Test
+    void callsOverriddenCallInsteadOfHooks() {
+        HandlerDispatch dispatch = new HandlerDispatch(new ExecutionHandler[]{
+                new ExecutionHandler() {
+                    @Override
+                    public void call(Command command, CommandSender sender, Arguments arguments) {
+                        calls.add("call");
+                    }
+
+                    @Override
+                    public void handlePlayerExecution(Command command, Player player, Arguments arguments) {
+                        calls.add("player");
+                    }
+                }
+        });
+
+        assertEquals(List.of("call"), dispatch(dispatch, Player.class));
+    }
+
+    /**
+     * Dispatches to the handlers with a sender of a specific type
+     *
+     * @param dispatch   The dispatch to call
+     * @param senderType The type of the sender
+     * @return The calls recorded during the dispatch
+     */
+    private List<String> dispatch(HandlerDispatch dispatch, Class<? extends CommandSender> senderType) {
+        calls.clear();
+        CommandSender sender = senderType.cast(Proxy.newProxyInstance(HandlerDispatchTest.class.getClassLoader(), new Class<?>[]{senderType}, (proxy, method, args) -> null));
+        dispatch.dispatch(null, sender, null);
+        return new ArrayList<>(calls);
+    }
+
+}
@@ -0,0 +1,296 @@
+package dev.lukaesebrot.pipe.command.annotation;
+
+import dev.lukaesebrot.pipe.command.Command;
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the command trees generated by the {@link CommandProcessor}
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class CommandProcessorTest {
+
+    @TempDir
+    Path output;
+
+    @Test
+    void generatesCallableTree() throws Exception {
+        Compilation compilation = compile("example.Greeter",
+                "package example;\n"
+                        + "import dev.lukaesebrot.pipe.command.annotation.*;\n"
+                        + "import org.bukkit.command.CommandSender;\n"
+                        + "@Command(value = \"greet\", aliases = \"hi\")\n"
+                        + "public class Greeter {\n"
+                        + "    public static String last;\n"
+                        + "    @SubCommand(\"say\")\n"
+                        + "    void say(CommandSender sender, @Arg(value = \"times\", min = 1, max = 5) int times, @Arg(value = \"message\", greedy = true) String message) {\n"
+                        + "        last = sender.getName() + \" \" + times + \" \" + message;\n"
+                        + "    }\n"
+                        + "}\n");
+        assertTrue(compilation.errors.isEmpty(), compilation.errors::toString);
+
+        // Check the declarations of the generated tree
+        String source = Files.readString(output.resolve("example/GreeterTree.java"));
+        assertTrue(source.contains("ArgumentTypes.integer(1, 5)"), source);
+        assertTrue(source.contains("ArgumentTypes.greedyString()"), source);
+
+        // Build the tree and dispatch through the directly calling handler
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> type = loader.loadClass("example.Greeter");
+            Command command = (Command) loader.loadClass("example.GreeterTree")
+                    .getMethod("build", type)
+                    .invoke(null, type.getDeclaredConstructor().newInstance());
+            assertEquals("greet", command.getName());
+            assertEquals(List.of("hi"), List.of(command.getAliases()));
+            assertTrue(command.getSubCommand("say").isPresent());
+
+            command.emit(sender("tester"), new String[]{"say", "3", "hello", "world"}).toCompletableFuture().join();
+            assertEquals("tester 3 hello world", type.getField("last").get(null));
+        }
+    }
+
+    @Test
+    void rejectsGreedyNonStringArguments() throws Exception {
+        Compilation compilation = compile("example.Counter",
+                "package example;\n"
+                        + "import dev.lukaesebrot.pipe.command.annotation.*;\n"
+                        + "@Command(\"count\")\n"
+                        + "public class Counter {\n"
+                        + "    @SubCommand(\"\")\n"
+                        + "    void count(@Arg(value = \"amount\", greedy = true) int amount) {\n"
+                        + "    }\n"
+                        + "}\n");
+        assertEquals(List.of("only String arguments may be greedy"), compilation.errors);
+        assertFalse(Files.exists(output.resolve("example/CounterTree.java")));
+    }
+
+    @Test
+    void rejectsGreedyArgumentsBeforeTheLastParameter() throws Exception {
+        Compilation compilation = compile("example.Mailer",
+                "package example;\n"
+                        + "import dev.lukaesebrot.pipe.command.annotation.*;\n"
+                        + "@Command(\"mail\")\n"
+                        + "public class Mailer {\n"
+                        + "    @SubCommand(\"send\")\n"
+                        + "    void send(@Arg(value = \"message\", greedy = true) String message, @Arg(\"target\") String target) {\n"
+                        + "    }\n"
+                        + "}\n");
+        assertEquals(List.of("greedy arguments have to be the last parameter"), compilation.errors);
+    }
+
+    @Test
+    void rejectsOptionalPrimitiveArguments() throws Exception {
+        Compilation compilation = compile("example.Pager",
+                "package example;\n"
+                        + "import dev.lukaesebrot.pipe.command.annotation.*;\n"
+                        + "@Command(\"page\")\n"
+                        + "public class Pager {\n"
+                        + "    @SubCommand(\"\")\n"
+                        + "    void page(@Arg(value = \"page\", optional = true) int page) {\n"
+                        + "    }\n"
+                        + "}\n");
+        assertEquals(List.of("optional arguments require a non-primitive parameter type"), compilation.errors);
+    }
+
+    @Test
+    void rejectsDuplicateSubCommands() throws Exception {
+        Compilation compilation = compile("example.Twice",
+                "package example;\n"
+                        + "import dev.lukaesebrot.pipe.command.annotation.*;\n"
+                        + "@Command(\"twice\")\n"
+                        + "public class Twice {\n"
+                        + "    @SubCommand(\"a b\")\n"
+                        + "    void first() {\n"
+                        + "    }\n"
+                        + "    @SubCommand(\" a  b \")\n"
+                        + "    void second() {\n"
+                        + "    }\n"
+                        + "}\n");
+        assertEquals(List.of("the sub command ' a  b ' is declared twice"), compilation.errors);
+    }
+
+    @Test
+    void appliesRootCaseSensitivityToIntermediateSubCommands() throws Exception {
+        Compilation compilation = compile("example.Grouped",
+                "package example;\n"
+                        + "import dev.lukaesebrot.pipe.command.CaseSensitivityPolicy;\n"
+                        + "import dev.lukaesebrot.pipe.command.annotation.*;\n"
+                        + "@Command(value = \"root\", caseSensitivityPolicy = CaseSensitivityPolicy.INSENSITIVE)\n"
+                        + "public class Grouped {\n"
+                        + "    public static int calls;\n"
+                        + "    @SubCommand(value = \"group leaf\", caseSensitivityPolicy = CaseSensitivityPolicy.INSENSITIVE)\n"
+                        + "    void leaf() {\n"
+                        + "        calls++;\n"
+                        + "    }\n"
+                        + "}\n");
+        assertTrue(compilation.errors.isEmpty(), compilation.errors::toString);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> type = loader.loadClass("example.Grouped");
+            Command command = (Command) loader.loadClass("example.GroupedTree")
+                    .getMethod("build", type)
+                    .invoke(null, type.getDeclaredConstructor().newInstance());
+            command.emit(sender("tester"), new String[]{"Group", "LEAF"}).toCompletableFuture().join();
+            assertEquals(1, type.getField("calls").get(null));
+        }
+    }
+
+    @Test
+    void roundsIntegralBoundsInwards() throws Exception {
+        Compilation compilation = compile("example.Bounded",
+                "package example;\n"
+                        + "import dev.lukaesebrot.pipe.command.annotation.*;\n"
+                        + "@Command(\"bounded\")\n"
+                        + "public class Bounded {\n"
+                        + "    @SubCommand(\"\")\n"
+                        + "    void bounded(@Arg(value = \"small\", min = 1.5, max = 4.5) int small, @Arg(value = \"large\", min = -2.5) long large) {\n"
+                        + "    }\n"
+                        + "}\n");
+        assertTrue(compilation.errors.isEmpty(), compilation.errors::toString);
+
+        String source = Files.readString(output.resolve("example/BoundedTree.java"));
+        assertTrue(source.contains("ArgumentTypes.integer(2, 4)"), source);
+        assertTrue(source.contains("ArgumentTypes.longInteger(-2L, java.lang.Long.MAX_VALUE)"), source);
+    }
+
+    @Test
+    void rejectsIntegralArgumentsWithoutIntegralValueInRange() throws Exception {
+        Compilation compilation = compile("example.Narrow",
+                "package example;\n"
+                        + "import dev.lukaesebrot.pipe.command.annotation.*;\n"
+                        + "@Command(\"narrow\")\n"
+                        + "public class Narrow {\n"
+                        + "    @SubCommand(\"\")\n"
+                        + "    void narrow(@Arg(value = \"value\", min = 1.2, max = 1.8) int value) {\n"
+                        + "    }\n"
+                        + "}\n");
+        assertEquals(List.of("no integral value lies between min and max"), compilation.errors);
+    }
+
+    @Test
+    void rejectsRootMetadataOnSubCommand() throws Exception {
+        Compilation compilation = compile("example.Guarded",
+                "package example;\n"
+                        + "import dev.lukaesebrot.pipe.command.annotation.*;\n"
+                        + "@Command(\"guarded\")\n"
+                        + "public class Guarded {\n"
+                        + "    @SubCommand(value = \"\", permissions = \"guarded.use\")\n"
+                        + "    void guarded() {\n"
+                        + "    }\n"
+                        + "}\n");
+        assertEquals(List.of("the metadata of the root command has to be declared in @Command; @SubCommand(\"\") may only set the execution policy"), compilation.errors);
+    }
+
+    /**
+     * Compiles a single source file with the command processor into the temporary output directory
+     *
+     * @param className The qualified name of the class to compile
+     * @param source    The source of the class
+     * @return The result of the compilation
+     */
+    private Compilation compile(String className, String source) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(output.toFile()));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, List.of(output.toFile()));
+            fileManager.setLocation(StandardLocation.CLASS_PATH, Stream.of(CommandProcessor.class, CommandSender.class)
+                    .map(CommandProcessorTest::locationOf)
+                    .collect(Collectors.toList()));
+            JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            };
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, List.of("-Xlint:none"), null, List.of(file));
+            task.setProcessors(List.of(new CommandProcessor()));
+            task.call();
+        }
+        return new Compilation(diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * @param type The class to locate
+     * @return The directory or archive the class got loaded from
+     */
+    private static File locationOf(Class<?> type) {
+        try {
+            return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toFile();
+        } catch (Exception exception) {
+            throw new IllegalStateException("could not locate " + type, exception);
+        }
+    }
+
+    /**
+     * Creates a command sender holding every permission
+     *
+     * @param name The name of the sender
+     * @return The created sender
+     */
+    private static CommandSender sender(String name) {
+        return (CommandSender) Proxy.newProxyInstance(CommandProcessorTest.class.getClassLoader(), new Class<?>[]{CommandSender.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return name;
+                case "hasPermission":
+                case "isOp":
+                    return true;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return null;
+            }
+        });
+    }
+
+    /**
+     * Holds the result of a compilation
+     */
+    private static final class Compilation {
+
+        // Define the reported error messages
+        private final List<String> errors;
+
+        private Compilation(List<String> errors) {
+            this.errors = errors;
+        }
+
+    }
+
+}
@@ -0,0 +1,257 @@
+package dev.lukaesebrot.pipe.testing;
+
+import dev.lukaesebrot.pipe.command.Command;
+import dev.lukaesebrot.pipe.command.metrics.LatencyHistogram;
+import org.bukkit.command.CommandSender;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Represents a synthetic load test replaying command lines through {@link Command#emit(CommandSender, String[])} and
+ * {@link Command#tabComplete(CommandSender, String, String[])} from multiple threads without a running server.
+ * With a target rate, latencies get measured from the time an operation was scheduled to start, so operations delayed
+ * by slow predecessors are accounted for. Allocations get measured on the replaying threads only, so allocations of
+ * asynchronous executions are not included.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class LoadTest {
+
+    // Define local variables
+    private final Command[] commands;
+    private final CommandSender[] senders;
+    private final Invocation[] invocations;
+    private final Supplier<String> lineSupplier;
+    private final double tabCompletionRatio;
+    private final int threads;
+    private final int targetRate;
+    private final long warmup;
+    private final long duration;
+
+    /**
+     * Creates a new load test
+     *
+     * @param commands           The root commands the lines get dispatched to
+     * @param senders            The senders the lines get sent by
+     * @param lines              The recorded lines to replay
+     * @param lineSupplier       The supplier generating the lines to replay or null to replay the recorded ones
+     * @param tabCompletionRatio The share of lines replayed as tab completions
+     * @param threads            The amount of replaying threads
+     * @param targetRate         The amount of lines replayed per second or 0 for no limit
+     * @param warmup             The time lines get replayed before the measurement starts
+     * @param duration           The time lines get replayed and measured
+     */
+    LoadTest(Command[] commands,
+             CommandSender[] senders,
+             String[] lines,
+             Supplier<String> lineSupplier,
+             double tabCompletionRatio,
+             int threads,
+             int targetRate,
+             Duration warmup,
+             Duration duration) {
+        this.commands = commands;
+        this.senders = senders;
+        this.lineSupplier = lineSupplier;
+        this.tabCompletionRatio = tabCompletionRatio;
+        this.threads = threads;
+        this.targetRate = targetRate;
+        this.warmup = warmup.toNanos();
+        this.duration = duration.toNanos();
+
+        // Parse the recorded lines up front so unknown commands get reported immediately
+        this.invocations = new Invocation[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            invocations[i] = parse(lines[i]);
+        }
+    }
+
+    /**
+     * Runs the load test, blocking until it finished
+     *
+     * @return The report of the measured part of the load test
+     */
+    public LoadTestReport run() {
+        StubServer.install();
+
+        // Define the shared measurements
+        LatencyHistogram executions = new LatencyHistogram();
+        LatencyHistogram tabCompletions = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        LongAdder allocatedBytes = new LongAdder();
+        boolean allocationsMeasured = isAllocationMeasurementSupported();
+
+        // Start all replaying threads at the same time
+        long start = System.nanoTime() + 10_000_000L;
+        long measureFrom = start + warmup;
+        long measureTo = measureFrom + duration;
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            int worker = i;
+            workers[i] = new Thread(() -> replay(worker, start, measureFrom, measureTo, executions, tabCompletions, errors, allocatedBytes, allocationsMeasured), "pipe-load-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting for the load test to finish", exception);
+            }
+        }
+        return new LoadTestReport(executions.snapshot(), tabCompletions.snapshot(), errors.sum(), duration, allocationsMeasured ? allocatedBytes.sum() : -1);
+    }
+
+    /**
+     * Replays lines on the current thread until the load test ends
+     *
+     * @param worker              The index of the current thread
+     * @param start               The time the replay starts at
+     * @param measureFrom         The time the measurement starts at
+     * @param measureTo           The time the replay and the measurement end at
+     * @param executions          The histogram to record execution latencies in
+     * @param tabCompletions      The histogram to record tab completion latencies in
+     * @param errors              The counter of failed operations
+     * @param allocatedBytes      The counter of allocated bytes
+     * @param allocationsMeasured Whether or not allocations can be measured
+     */
+    private void replay(int worker, long start, long measureFrom, long measureTo, LatencyHistogram executions, LatencyHistogram tabCompletions, LongAdder errors, LongAdder allocatedBytes, boolean allocationsMeasured) {
+        SplittableRandom random = new SplittableRandom(worker);
+        long interval = targetRate > 0 ? (long) threads * 1_000_000_000L / targetRate : 0;
+        long scheduled = start + (interval * worker) / threads;
+        int lineIndex = invocations.length != 0 ? worker % invocations.length : 0;
+        int senderIndex = worker % senders.length;
+        boolean measuring = false;
+        long allocatedAtStart = 0;
+
+        LockSupport.parkNanos(start - System.nanoTime());
+        while (true) {
+            // Pick the next line and sender
+            Invocation invocation;
+            try {
+                invocation = lineSupplier != null ? parse(lineSupplier.get()) : invocations[lineIndex];
+            } catch (RuntimeException exception) {
+                invocation = null;
+            }
+            lineIndex = invocations.length != 0 ? (lineIndex + threads) % invocations.length : 0;
+            CommandSender sender = senders[senderIndex];
+            senderIndex = (senderIndex + threads) % senders.length;
+            boolean tabCompletion = tabCompletionRatio > 0 && random.nextDouble() < tabCompletionRatio;
+
+            // Wait for the scheduled start of the operation
+            long intended;
+            if (interval > 0) {
+                LockSupport.parkNanos(scheduled - System.nanoTime());
+                intended = scheduled;
+                scheduled += interval;
+            } else {
+                intended = System.nanoTime();
+            }
+            if (intended - measureTo >= 0) {
+                break;
+            }
+            if (!measuring && intended - measureFrom >= 0) {
+                measuring = true;
+                allocatedAtStart = allocationsMeasured ? allocatedBytes() : 0;
+            }
+
+            // Replay the line and record its latency
+            boolean failed = invocation == null;
+            if (!failed) {
+                try {
+                    if (tabCompletion) {
+                        invocation.command.tabComplete(sender, invocation.label, invocation.completionArguments);
+                    } else {
+                        invocation.command.emit(sender, invocation.arguments).toCompletableFuture().join();
+                    }
+                } catch (RuntimeException | Error exception) {
+                    failed = true;
+                }
+            }
+            if (measuring) {
+                (tabCompletion ? tabCompletions : executions).record(System.nanoTime() - intended);
+                if (failed) {
+                    errors.increment();
+                }
+            }
+        }
+        if (measuring && allocationsMeasured) {
+            allocatedBytes.add(allocatedBytes() - allocatedAtStart);
+        }
+    }
+
+    /**
+     * Splits a command line like Bukkit does and resolves its root command
+     *
+     * @param line The line to parse
+     * @return The parsed invocation
+     */
+    private Invocation parse(String line) {
+        String trimmed = line.startsWith("/") ? line.substring(1) : line;
+        int space = trimmed.indexOf(' ');
+        String label = space < 0 ? trimmed : trimmed.substring(0, space);
+        String rest = space < 0 ? "" : trimmed.substring(space + 1);
+        String[] labelArray = {label.toLowerCase(Locale.ROOT)};
+        for (Command command : commands) {
+            if (command.corresponds(labelArray) || command.corresponds(new String[]{label})) {
+                return new Invocation(
+                        command,
+                        label,
+                        rest.isEmpty() ? new String[0] : rest.split(" "),
+                        rest.split(" ", -1)
+                );
+            }
+        }
+        throw new IllegalArgumentException("no command corresponds to the line '" + line + "'");
+    }
+
+    /**
+     * @return Whether or not the allocations of single threads can be measured
+     */
+    private static boolean isAllocationMeasurementSupported() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+        com.sun.management.ThreadMXBean extended = (com.sun.management.ThreadMXBean) bean;
+        return extended.isThreadAllocatedMemorySupported() && extended.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * @return The amount of bytes allocated by the current thread so far
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Represents a parsed command line
+     */
+    private static final class Invocation {
+
+        // Define local variables
+        private final Command command;
+        private final String label;
+        private final String[] arguments;
+        private final String[] completionArguments;
+
+        private Invocation(Command command, String label, String[] arguments, String[] completionArguments) {
+            this.command = command;
+            this.label = label;
+            this.arguments = arguments;
+            this.completionArguments = completionArguments;
+        }
+
+    }
+
+}
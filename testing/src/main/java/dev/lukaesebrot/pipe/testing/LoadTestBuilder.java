@@ -0,0 +1,205 @@
+package dev.lukaesebrot.pipe.testing;
+
+import dev.lukaesebrot.pipe.command.Command;
+import org.bukkit.command.CommandSender;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Helps to build a load test
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class LoadTestBuilder {
+
+    // Define local variables
+    private final List<Command> commands;
+    private final List<CommandSender> senders;
+    private final List<String> lines;
+    private Supplier<String> lineSupplier;
+    private double tabCompletionRatio;
+    private int threads;
+    private int targetRate;
+    private Duration warmup;
+    private Duration duration;
+
+    /**
+     * Creates a new load test builder
+     */
+    public LoadTestBuilder() {
+        this.commands = new ArrayList<>();
+        this.senders = new ArrayList<>();
+        this.lines = new ArrayList<>();
+        this.lineSupplier = null;
+        this.tabCompletionRatio = 0;
+        this.threads = Runtime.getRuntime().availableProcessors();
+        this.targetRate = 0;
+        this.warmup = Duration.ofSeconds(2);
+        this.duration = Duration.ofSeconds(10);
+    }
+
+    /**
+     * Adds root commands the replayed command lines get dispatched to
+     *
+     * @param commands The commands to add
+     * @return The new load test builder state
+     */
+    public LoadTestBuilder addCommands(Command... commands) {
+        this.commands.addAll(Arrays.asList(commands));
+        return this;
+    }
+
+    /**
+     * Adds senders the replayed command lines get sent by, e.g. the ones created by {@link StubServer}
+     *
+     * @param senders The senders to add
+     * @return The new load test builder state
+     */
+    public LoadTestBuilder addSenders(Collection<? extends CommandSender> senders) {
+        this.senders.addAll(senders);
+        return this;
+    }
+
+    /**
+     * Adds senders the replayed command lines get sent by, e.g. the ones created by {@link StubServer}
+     *
+     * @param senders The senders to add
+     * @return The new load test builder state
+     */
+    public LoadTestBuilder addSenders(CommandSender... senders) {
+        return addSenders(Arrays.asList(senders));
+    }
+
+    /**
+     * Adds recorded command lines which get replayed in order, e.g. "warp set home" or "/warp set home"
+     *
+     * @param lines The lines to add
+     * @return The new load test builder state
+     */
+    public LoadTestBuilder addLines(Collection<String> lines) {
+        this.lines.addAll(lines);
+        return this;
+    }
+
+    /**
+     * Adds recorded command lines which get replayed in order, e.g. "warp set home" or "/warp set home"
+     *
+     * @param lines The lines to add
+     * @return The new load test builder state
+     */
+    public LoadTestBuilder addLines(String... lines) {
+        return addLines(Arrays.asList(lines));
+    }
+
+    /**
+     * Sets the thread-safe supplier generating the command lines to replay instead of the recorded ones.
+     * The time spent generating lines is not part of the measured latencies but its allocations are.
+     *
+     * @param lineSupplier The supplier to use
+     * @return The new load test builder state
+     */
+    public LoadTestBuilder setLineSupplier(Supplier<String> lineSupplier) {
+        this.lineSupplier = lineSupplier;
+        return this;
+    }
+
+    /**
+     * Sets the share of command lines which get replayed as tab completions instead of executions
+     *
+     * @param tabCompletionRatio The share between 0 and 1
+     * @return The new load test builder state
+     */
+    public LoadTestBuilder setTabCompletionRatio(double tabCompletionRatio) {
+        if (tabCompletionRatio < 0 || tabCompletionRatio > 1) {
+            throw new IllegalArgumentException("the tab completion ratio must be between 0 and 1");
+        }
+        this.tabCompletionRatio = tabCompletionRatio;
+        return this;
+    }
+
+    /**
+     * Sets the amount of threads replaying command lines concurrently
+     *
+     * @param threads The amount of threads
+     * @return The new load test builder state
+     */
+    public LoadTestBuilder setThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("the amount of threads must be positive");
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Sets the total amount of command lines replayed per second across all threads
+     *
+     * @param targetRate The amount of lines per second or 0 to replay them as fast as possible
+     * @return The new load test builder state
+     */
+    public LoadTestBuilder setTargetRate(int targetRate) {
+        if (targetRate < 0) {
+            throw new IllegalArgumentException("the target rate must not be negative");
+        }
+        this.targetRate = targetRate;
+        return this;
+    }
+
+    /**
+     * Sets the time command lines get replayed for before the measurement starts
+     *
+     * @param warmup The warmup time
+     * @return The new load test builder state
+     */
+    public LoadTestBuilder setWarmup(Duration warmup) {
+        this.warmup = warmup;
+        return this;
+    }
+
+    /**
+     * Sets the time command lines get replayed and measured for
+     *
+     * @param duration The measurement time
+     * @return The new load test builder state
+     */
+    public LoadTestBuilder setDuration(Duration duration) {
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * Builds the load test
+     *
+     * @return The built load test
+     */
+    public LoadTest build() {
+        if (commands.isEmpty()) {
+            throw new IllegalStateException("at least one command is required");
+        }
+        if (senders.isEmpty()) {
+            throw new IllegalStateException("at least one sender is required");
+        }
+        if (lines.isEmpty() && lineSupplier == null) {
+            throw new IllegalStateException("either recorded lines or a line supplier are required");
+        }
+        return new LoadTest(
+                commands.toArray(Command[]::new),
+                senders.toArray(CommandSender[]::new),
+                lines.toArray(String[]::new),
+                lineSupplier,
+                tabCompletionRatio,
+                threads,
+                targetRate,
+                warmup,
+                duration
+        );
+    }
+
+}
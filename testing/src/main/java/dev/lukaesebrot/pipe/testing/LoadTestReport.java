@@ -0,0 +1,120 @@
+package dev.lukaesebrot.pipe.testing;
+
+import dev.lukaesebrot.pipe.command.metrics.LatencySnapshot;
+
+import java.util.Locale;
+
+/**
+ * Represents the results of the measured part of a {@link LoadTest}
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class LoadTestReport {
+
+    // Define local variables
+    private final LatencySnapshot executionLatency;
+    private final LatencySnapshot tabCompletionLatency;
+    private final long errors;
+    private final long durationNanos;
+    private final long allocatedBytes;
+
+    /**
+     * Creates a new load test report
+     *
+     * @param executionLatency     The latencies of the replayed executions
+     * @param tabCompletionLatency The latencies of the replayed tab completions
+     * @param errors               The amount of failed operations
+     * @param durationNanos        The measured time in nanoseconds
+     * @param allocatedBytes       The amount of bytes allocated by the replaying threads or -1 if unknown
+     */
+    LoadTestReport(LatencySnapshot executionLatency, LatencySnapshot tabCompletionLatency, long errors, long durationNanos, long allocatedBytes) {
+        this.executionLatency = executionLatency;
+        this.tabCompletionLatency = tabCompletionLatency;
+        this.errors = errors;
+        this.durationNanos = durationNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * @return The latencies of the replayed executions
+     */
+    public LatencySnapshot getExecutionLatency() {
+        return executionLatency;
+    }
+
+    /**
+     * @return The latencies of the replayed tab completions
+     */
+    public LatencySnapshot getTabCompletionLatency() {
+        return tabCompletionLatency;
+    }
+
+    /**
+     * @return The amount of replayed operations
+     */
+    public long getOperations() {
+        return executionLatency.getCount() + tabCompletionLatency.getCount();
+    }
+
+    /**
+     * @return The amount of operations which threw an exception or referenced an unknown command
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return The amount of replayed operations per second
+     */
+    public double getThroughput() {
+        return getOperations() * 1_000_000_000.0 / durationNanos;
+    }
+
+    /**
+     * @return The amount of bytes allocated by the replaying threads or -1 if the JVM does not support measuring it
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return The amount of bytes allocated per second or -1 if unknown
+     */
+    public double getAllocationRate() {
+        return allocatedBytes < 0 ? -1 : allocatedBytes * 1_000_000_000.0 / durationNanos;
+    }
+
+    /**
+     * @return The amount of bytes allocated per operation or -1 if unknown
+     */
+    public double getAllocatedBytesPerOperation() {
+        long operations = getOperations();
+        return allocatedBytes < 0 || operations == 0 ? -1 : (double) allocatedBytes / operations;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d operations (%d errors), %.1f ops/s, %.1f MB/s allocated (%.0f B/op)%n", getOperations(), errors, getThroughput(), getAllocationRate() / (1024 * 1024), getAllocatedBytesPerOperation())
+                + format("executions", executionLatency)
+                + format("tab completions", tabCompletionLatency);
+    }
+
+    /**
+     * @param name     The name of the operations
+     * @param snapshot The latencies of the operations
+     * @return The formatted latency percentiles in microseconds
+     */
+    private static String format(String name, LatencySnapshot snapshot) {
+        return String.format(Locale.ROOT, "%s: %d, p50 %.1fus, p90 %.1fus, p99 %.1fus, p99.9 %.1fus, max %.1fus%n",
+                name,
+                snapshot.getCount(),
+                snapshot.getPercentile(50) / 1000.0,
+                snapshot.getPercentile(90) / 1000.0,
+                snapshot.getPercentile(99) / 1000.0,
+                snapshot.getPercentile(99.9) / 1000.0,
+                snapshot.getMax() / 1000.0);
+    }
+
+}
@@ -0,0 +1,59 @@
+package dev.lukaesebrot.pipe.testing;
+
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+
+/**
+ * Represents a stand-in view of an inventory opened by a player
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class StubInventoryView extends InventoryView {
+
+    // Define local variables
+    private final Inventory top;
+    private final Inventory bottom;
+    private final HumanEntity player;
+
+    /**
+     * Creates a new stand-in inventory view
+     *
+     * @param top    The opened inventory
+     * @param player The player who opened the inventory
+     */
+    public StubInventoryView(Inventory top, HumanEntity player) {
+        this.top = top;
+        this.bottom = StubServer.createInventory(null, 36);
+        this.player = player;
+    }
+
+    @Override
+    public Inventory getTopInventory() {
+        return top;
+    }
+
+    @Override
+    public Inventory getBottomInventory() {
+        return bottom;
+    }
+
+    @Override
+    public HumanEntity getPlayer() {
+        return player;
+    }
+
+    @Override
+    public InventoryType getType() {
+        return InventoryType.CHEST;
+    }
+
+    @Override
+    public String getTitle() {
+        return "stub";
+    }
+
+}
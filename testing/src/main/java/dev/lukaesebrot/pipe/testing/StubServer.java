@@ -0,0 +1,430 @@
+package dev.lukaesebrot.pipe.testing;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.permissions.Permission;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Logger;
+
+/**
+ * Provides a stand-in Bukkit server, stand-in senders and stand-in inventories so command trees and GUIs can be
+ * exercised without a running server, e.g. from plain JUnit tests or benchmarks.
+ * Only the parts of the API pipe uses during dispatch, tab completion and GUI clicks are implemented; all other methods
+ * return false, zero, empty collections or null. Stand-in players are online until they get removed, and tasks
+ * scheduled for the main thread wait for {@link #tick()}.
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class StubServer {
+
+    // Define the permission granting every permission to a stand-in sender
+    public static final String ALL_PERMISSIONS = "*";
+
+    // Define the online stand-in players keyed by their lower case name
+    private static final Map<String, Player> PLAYERS = new ConcurrentHashMap<>();
+
+    // Define the tasks scheduled for the next tick
+    private static final Queue<Runnable> TASKS = new ConcurrentLinkedQueue<>();
+
+    // Define the inventory created last by the stand-in server
+    private static volatile Inventory lastCreatedInventory;
+
+    private StubServer() {
+    }
+
+    /**
+     * Installs the stand-in server unless a server is already installed
+     */
+    public static synchronized void install() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+        Logger logger = Logger.getLogger("StubServer");
+        PluginManager pluginManager = stub(PluginManager.class, (proxy, method, args) -> defaultAnswer(proxy, method.getName(), method.getReturnType(), args));
+        BukkitScheduler scheduler = stub(BukkitScheduler.class, (proxy, method, args) -> {
+            if (method.getName().equals("runTask") && args[1] instanceof Runnable) {
+                TASKS.add((Runnable) args[1]);
+                return null;
+            }
+            return defaultAnswer(proxy, method.getName(), method.getReturnType(), args);
+        });
+        ItemFactory itemFactory = stub(ItemFactory.class, (proxy, method, args) -> {
+            // Item stacks compare their meta through the item factory
+            if (method.getName().equals("equals") && args.length == 2) {
+                return Objects.equals(args[0], args[1]);
+            }
+            return defaultAnswer(proxy, method.getName(), method.getReturnType(), args);
+        });
+        Bukkit.setServer(stub(Server.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getLogger":
+                    return logger;
+                case "getName":
+                    return "StubServer";
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "stub";
+                case "isPrimaryThread":
+                    return true;
+                case "getOnlinePlayers":
+                    return Collections.unmodifiableCollection(new ArrayList<>(PLAYERS.values()));
+                case "getPlayerExact":
+                    return PLAYERS.get(((String) args[0]).toLowerCase(Locale.ROOT));
+                case "getPlayer":
+                    return args[0] instanceof UUID ? findPlayer((UUID) args[0]) : findPlayer((String) args[0]);
+                case "getPluginManager":
+                    return pluginManager;
+                case "getScheduler":
+                    return scheduler;
+                case "getItemFactory":
+                    return itemFactory;
+                case "createInventory":
+                    lastCreatedInventory = createInventory((InventoryHolder) args[0], args[1] instanceof Integer ? (Integer) args[1] : 27);
+                    return lastCreatedInventory;
+                default:
+                    return defaultAnswer(proxy, method.getName(), method.getReturnType(), args);
+            }
+        }));
+    }
+
+    /**
+     * Creates an enabled stand-in plugin; listeners registered with it never receive events
+     *
+     * @param name The name of the plugin
+     * @return The created plugin
+     */
+    public static Plugin createPlugin(String name) {
+        Logger logger = Logger.getLogger(name);
+        return stub(Plugin.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return name;
+                case "getLogger":
+                    return logger;
+                case "isEnabled":
+                    return true;
+                case "getServer":
+                    return Bukkit.getServer();
+                default:
+                    return defaultAnswer(proxy, method.getName(), method.getReturnType(), args);
+            }
+        });
+    }
+
+    /**
+     * Creates an online stand-in player
+     *
+     * @param name        The name of the player
+     * @param permissions The permissions of the player
+     * @return The created player
+     */
+    public static Player createPlayer(String name, String... permissions) {
+        UUID uuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8));
+        Set<String> granted = Set.copyOf(Arrays.asList(permissions));
+        Player player = stub(Player.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                case "getDisplayName":
+                case "getPlayerListName":
+                    return name;
+                case "getUniqueId":
+                    return uuid;
+                case "isOnline":
+                    return PLAYERS.get(name.toLowerCase(Locale.ROOT)) == proxy;
+                case "hasPermission":
+                case "isPermissionSet":
+                    return isGranted(granted, args[0]);
+                case "getServer":
+                    return Bukkit.getServer();
+                default:
+                    return defaultAnswer(proxy, method.getName(), method.getReturnType(), args);
+            }
+        });
+        PLAYERS.put(name.toLowerCase(Locale.ROOT), player);
+        return player;
+    }
+
+    /**
+     * Creates multiple online stand-in players named after a prefix followed by a running number
+     *
+     * @param amount      The amount of players to create
+     * @param namePrefix  The prefix of the names of the players
+     * @param permissions The permissions of the players
+     * @return The created players
+     */
+    public static List<Player> createPlayers(int amount, String namePrefix, String... permissions) {
+        List<Player> players = new ArrayList<>(amount);
+        for (int i = 0; i < amount; i++) {
+            players.add(createPlayer(namePrefix + i, permissions));
+        }
+        return players;
+    }
+
+    /**
+     * Creates a stand-in sender which is not a player
+     *
+     * @param name        The name of the sender
+     * @param permissions The permissions of the sender
+     * @return The created sender
+     */
+    public static CommandSender createSender(String name, String... permissions) {
+        Set<String> granted = Set.copyOf(Arrays.asList(permissions));
+        return stub(CommandSender.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return name;
+                case "hasPermission":
+                case "isPermissionSet":
+                    return isGranted(granted, args[0]);
+                case "getServer":
+                    return Bukkit.getServer();
+                default:
+                    return defaultAnswer(proxy, method.getName(), method.getReturnType(), args);
+            }
+        });
+    }
+
+    /**
+     * @return A stand-in console sender holding every permission
+     */
+    public static ConsoleCommandSender createConsole() {
+        return stub(ConsoleCommandSender.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return "CONSOLE";
+                case "hasPermission":
+                case "isPermissionSet":
+                case "isOp":
+                    return true;
+                case "getServer":
+                    return Bukkit.getServer();
+                default:
+                    return defaultAnswer(proxy, method.getName(), method.getReturnType(), args);
+            }
+        });
+    }
+
+    /**
+     * Creates a stand-in inventory storing its contents
+     *
+     * @param holder The holder of the inventory
+     * @param size   The size of the inventory
+     * @return The created inventory
+     */
+    public static Inventory createInventory(InventoryHolder holder, int size) {
+        ItemStack[] contents = new ItemStack[size];
+        return stub(Inventory.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getHolder":
+                    return holder;
+                case "getSize":
+                    return size;
+                case "getItem":
+                    return contents[(Integer) args[0]];
+                case "setItem":
+                    contents[(Integer) args[0]] = (ItemStack) args[1];
+                    return null;
+                case "getContents":
+                    return contents.clone();
+                case "setContents":
+                    ItemStack[] items = (ItemStack[]) args[0];
+                    if (items.length > size) {
+                        throw new IllegalArgumentException("too many items for an inventory of size " + size);
+                    }
+                    Arrays.fill(contents, null);
+                    System.arraycopy(items, 0, contents, 0, items.length);
+                    return null;
+                case "clear":
+                    if (args == null) {
+                        Arrays.fill(contents, null);
+                    } else {
+                        contents[(Integer) args[0]] = null;
+                    }
+                    return null;
+                default:
+                    return defaultAnswer(proxy, method.getName(), method.getReturnType(), args);
+            }
+        });
+    }
+
+    /**
+     * @return The inventory created last by the stand-in server, such as the one of the GUI built last
+     */
+    public static Inventory getLastCreatedInventory() {
+        return lastCreatedInventory;
+    }
+
+    /**
+     * Runs the tasks scheduled with {@link BukkitScheduler#runTask(Plugin, Runnable)} until now, as the server would
+     * do with the next tick. Tasks scheduled by these tasks run with the next call.
+     */
+    public static void tick() {
+        for (int remaining = TASKS.size(); remaining > 0; remaining--) {
+            Runnable task = TASKS.poll();
+            if (task == null) {
+                return;
+            }
+            task.run();
+        }
+    }
+
+    /**
+     * Takes a stand-in player offline
+     *
+     * @param player The player to remove
+     */
+    public static void removePlayer(Player player) {
+        PLAYERS.remove(player.getName().toLowerCase(Locale.ROOT), player);
+    }
+
+    /**
+     * Takes all stand-in players offline
+     */
+    public static void removePlayers() {
+        PLAYERS.clear();
+    }
+
+    /**
+     * @param uuid The UUID of the player
+     * @return The online stand-in player with the given UUID or null if there is none
+     */
+    private static Player findPlayer(UUID uuid) {
+        for (Player player : PLAYERS.values()) {
+            if (player.getUniqueId().equals(uuid)) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param name The name or name prefix of the player
+     * @return The online stand-in player matching like {@link Bukkit#getPlayer(String)} or null if there is none
+     */
+    private static Player findPlayer(String name) {
+        String prefix = name.toLowerCase(Locale.ROOT);
+        Player found = PLAYERS.get(prefix);
+        if (found != null) {
+            return found;
+        }
+        int shortest = Integer.MAX_VALUE;
+        for (Map.Entry<String, Player> entry : PLAYERS.entrySet()) {
+            if (entry.getKey().startsWith(prefix) && entry.getKey().length() < shortest) {
+                found = entry.getValue();
+                shortest = entry.getKey().length();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @param granted    The permissions granted to a sender
+     * @param permission The permission name or permission object to check
+     * @return Whether or not the permission is granted
+     */
+    private static boolean isGranted(Set<String> granted, Object permission) {
+        String name = permission instanceof Permission ? ((Permission) permission).getName() : (String) permission;
+        return granted.contains(ALL_PERMISSIONS) || granted.contains(name);
+    }
+
+    /**
+     * Creates a proxy implementing the given interface
+     *
+     * @param type    The interface to implement
+     * @param handler The handler answering the method calls
+     * @param <T>     The interface to implement
+     * @return The created proxy
+     */
+    private static <T> T stub(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StubServer.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Answers a method call not implemented by a stand-in
+     *
+     * @param proxy      The proxy the method got called on
+     * @param name       The name of the method
+     * @param returnType The return type of the method
+     * @param args       The arguments of the call
+     * @return The identity based answer for object methods or the default value of the return type
+     */
+    private static Object defaultAnswer(Object proxy, String name, Class<?> returnType, Object[] args) {
+        switch (name) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Stub" + proxy.getClass().getInterfaces()[0].getSimpleName();
+        }
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == void.class || !returnType.isPrimitive()) {
+            if (returnType == String.class) {
+                return "";
+            }
+            if (returnType == List.class) {
+                return Collections.emptyList();
+            }
+            if (returnType == Set.class) {
+                return Collections.emptySet();
+            }
+            if (returnType == Collection.class) {
+                return Collections.emptyList();
+            }
+            if (returnType == Map.class) {
+                return Collections.emptyMap();
+            }
+            return null;
+        }
+        if (returnType == char.class) {
+            return (char) 0;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        if (returnType == double.class) {
+            return 0D;
+        }
+        if (returnType == float.class) {
+            return 0F;
+        }
+        if (returnType == short.class) {
+            return (short) 0;
+        }
+        if (returnType == byte.class) {
+            return (byte) 0;
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,134 @@
+package dev.lukaesebrot.pipe.gui;
+
+import dev.lukaesebrot.pipe.testing.StubInventoryView;
+import dev.lukaesebrot.pipe.testing.StubServer;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the routing of inventory events to the GUIs owning the inventories
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class GUIRouterTest {
+
+    @Test
+    void routesClicksToOwningGUI() {
+        GUIRouter router = router();
+        GUI gui = new GUI(9, "Router", Map.of(
+                0, new GUIItem(new ItemStack(Material.STONE), ItemDraggingPolicy.DRAGGING_DENIED),
+                1, new GUIItem(new ItemStack(Material.DIRT), ItemDraggingPolicy.DRAGGING_ALLOWED)
+        ));
+        Player player = StubServer.createPlayer("Router");
+        gui.open(player);
+
+        InventoryClickEvent denied = click(gui.getInventory(), player, 0);
+        router.handleInventoryClick(denied);
+        assertTrue(denied.isCancelled());
+
+        InventoryClickEvent allowed = click(gui.getInventory(), player, 1);
+        router.handleInventoryClick(allowed);
+        assertFalse(allowed.isCancelled());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void deprecatedListenerLeavesClicksToRouter() {
+        GUIRouter router = router();
+        AtomicInteger presses = new AtomicInteger();
+        GUI gui = new GUI(9, "Legacy", Map.of(0, new GUIButton(new ItemStack(Material.STONE), clicker -> {
+            presses.incrementAndGet();
+            return false;
+        })));
+        GUISpecificListener listener = new GUISpecificListener(gui);
+        Player player = StubServer.createPlayer("Router");
+        gui.open(player);
+
+        // Bukkit calls every registered listener with the same event
+        InventoryClickEvent event = click(gui.getInventory(), player, 0);
+        router.handleInventoryClick(event);
+        listener.handleInventoryClick(event);
+        assertEquals(1, presses.get());
+    }
+
+    @Test
+    void ignoresForeignInventories() {
+        GUIRouter router = router();
+        Player player = StubServer.createPlayer("Router");
+        InventoryClickEvent event = click(StubServer.createInventory(null, 9), player, 0);
+        router.handleInventoryClick(event);
+        router.handleInventoryClose(new InventoryCloseEvent(new StubInventoryView(StubServer.createInventory(null, 9), player)));
+        assertFalse(event.isCancelled());
+    }
+
+    @Test
+    void routesClosesToOwningGUI() {
+        GUIRouter router = router();
+        AtomicInteger loads = new AtomicInteger();
+        PageSource<Integer> source = new PageSource<>() {
+            @Override
+            public List<Integer> load(int offset, int limit) {
+                loads.incrementAndGet();
+                return List.of();
+            }
+
+            @Override
+            public boolean isBlocking() {
+                return false;
+            }
+        };
+        PaginatedGUI<Integer> gui = new PaginatedGUIBuilder<Integer>(StubServer.createPlugin("Router"), source, entry -> null)
+                .setSize(18)
+                .build();
+        Player player = StubServer.createPlayer("Router");
+        gui.open(player);
+        int loadsBeforeClose = loads.get();
+
+        // Closing drops the loaded pages, so showing the page again has to load it again
+        router.handleInventoryClose(new InventoryCloseEvent(new StubInventoryView(gui.getInventory(), player)));
+        gui.showPage(0);
+        assertEquals(loadsBeforeClose + 2, loads.get());
+    }
+
+    /**
+     * Makes sure a router is registered and creates another one to feed events into directly
+     *
+     * @return The created router
+     */
+    private static GUIRouter router() {
+        StubServer.install();
+        Plugin plugin = StubServer.createPlugin("GUIRouterTest");
+        GUIRouter.register(plugin);
+        return GUIRouter.createUnregistered(plugin);
+    }
+
+    /**
+     * @param inventory The clicked inventory
+     * @param player    The clicking player
+     * @param slot      The clicked slot
+     * @return The created click event
+     */
+    private static InventoryClickEvent click(Inventory inventory, Player player, int slot) {
+        return new InventoryClickEvent(new StubInventoryView(inventory, player), InventoryType.SlotType.CONTAINER, slot, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+    }
+
+}
@@ -0,0 +1,83 @@
+package dev.lukaesebrot.pipe.gui;
+
+import dev.lukaesebrot.pipe.testing.StubServer;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests the batched slot updates of a {@link GUI}
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class GUIUpdateQueueTest {
+
+    @Test
+    void appliesLatestUpdateWithNextTick() {
+        GUI gui = gui(Map.of());
+        GUIItem first = new GUIItem(new ItemStack(Material.STONE), ItemDraggingPolicy.DRAGGING_DENIED);
+        GUIItem second = new GUIItem(new ItemStack(Material.DIRT), ItemDraggingPolicy.DRAGGING_DENIED);
+        gui.set(4, first);
+        gui.set(4, second);
+        assertNull(gui.getInventory().getItem(4));
+
+        StubServer.tick();
+        assertSame(second.getItemStack(), gui.getInventory().getItem(4));
+        assertSame(second, gui.getComponentAt(4).orElse(null));
+    }
+
+    @Test
+    void resendsDraggableSlotsChangedByPlayers() {
+        ItemStack reward = new ItemStack(Material.DIRT);
+        GUI gui = gui(Map.of(0, new GUIItem(reward, ItemDraggingPolicy.DRAGGING_ALLOWED)));
+        Inventory inventory = gui.getInventory();
+
+        // The player takes the item out, then the GUI puts the same item back in
+        inventory.setItem(0, null);
+        gui.set(0, new GUIItem(reward.clone(), ItemDraggingPolicy.DRAGGING_ALLOWED));
+        StubServer.tick();
+        assertEquals(reward, inventory.getItem(0));
+    }
+
+    @Test
+    void clearsItemsPlayersPutIntoEmptySlots() {
+        GUI gui = gui(Map.of());
+        Inventory inventory = gui.getInventory();
+        inventory.setItem(1, new ItemStack(Material.STONE));
+        gui.set(1, null);
+        StubServer.tick();
+        assertNull(inventory.getItem(1));
+    }
+
+    @Test
+    void refreshesItemStacksModifiedInPlace() {
+        ItemStack counter = new ItemStack(Material.STONE, 1);
+        GUI gui = gui(Map.of(2, new GUIItem(counter, ItemDraggingPolicy.DRAGGING_DENIED)));
+        counter.setAmount(5);
+        gui.refresh(2);
+        StubServer.tick();
+        assertEquals(5, gui.getInventory().getItem(2).getAmount());
+    }
+
+    /**
+     * Creates a GUI of 9 slots on the stand-in server with a registered router
+     *
+     * @param components The initial components
+     * @return The created GUI
+     */
+    private static GUI gui(Map<Integer, GUIComponent> components) {
+        StubServer.install();
+        GUIRouter.register(StubServer.createPlugin("GUIUpdateQueueTest"));
+        return new GUI(9, "Updates", components);
+    }
+
+}
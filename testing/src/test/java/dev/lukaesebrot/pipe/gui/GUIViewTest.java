@@ -0,0 +1,86 @@
+package dev.lukaesebrot.pipe.gui;
+
+import dev.lukaesebrot.pipe.testing.StubInventoryView;
+import dev.lukaesebrot.pipe.testing.StubServer;
+import org.bukkit.Material;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that views of a {@link GUITemplate} treat clicks like a {@link GUI} does
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class GUIViewTest {
+
+    @Test
+    void handlesSharedSlotsLikeGUI() {
+        GUIView view = view();
+        assertTrue(click(view, 0).isCancelled());
+        assertFalse(click(view, 1).isCancelled());
+        assertFalse(click(view, 8).isCancelled());
+    }
+
+    @Test
+    void handlesClearedOverridesLikeEmptySlots() {
+        GUIView view = view();
+        view.set(0, null);
+        assertFalse(click(view, 0).isCancelled());
+        assertNull(view.getInventory().getItem(0));
+
+        view.reset(0);
+        assertTrue(click(view, 0).isCancelled());
+    }
+
+    @Test
+    void callsOverridingComponents() {
+        AtomicInteger presses = new AtomicInteger();
+        GUIView view = view();
+        view.set(1, new GUIButton(new ItemStack(Material.ARROW), clicker -> {
+            presses.incrementAndGet();
+            return false;
+        }));
+        assertTrue(click(view, 1).isCancelled());
+        assertEquals(1, presses.get());
+    }
+
+    /**
+     * Creates a view of a template with a locked item in slot 0, a draggable item in slot 1 and empty slots otherwise
+     *
+     * @return The created view
+     */
+    private static GUIView view() {
+        StubServer.install();
+        GUITemplate template = new GUITemplate(9, "Views", Map.of(
+                0, new GUIItem(new ItemStack(Material.STONE), ItemDraggingPolicy.DRAGGING_DENIED),
+                1, new GUIItem(new ItemStack(Material.DIRT), ItemDraggingPolicy.DRAGGING_ALLOWED)
+        ));
+        return template.createView(StubServer.createPlayer("Viewer"));
+    }
+
+    /**
+     * @param view The clicked view
+     * @param slot The clicked slot
+     * @return The handled click event
+     */
+    private static InventoryClickEvent click(GUIView view, int slot) {
+        InventoryClickEvent event = new InventoryClickEvent(new StubInventoryView(view.getInventory(), view.getViewer()), InventoryType.SlotType.CONTAINER, slot, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+        view.handleClick(event);
+        return event;
+    }
+
+}
@@ -0,0 +1,205 @@
+package dev.lukaesebrot.pipe.gui;
+
+import dev.lukaesebrot.pipe.testing.StubInventoryView;
+import dev.lukaesebrot.pipe.testing.StubServer;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the paging of the {@link PaginatedGUI} on the stand-in server
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class PaginatedGUITest {
+
+    // Define the layout of the tested GUIs: 9 content slots, the previous button at 9 and the next button at 17
+    private static final int SIZE = 18;
+    private static final int PREVIOUS_SLOT = 9;
+    private static final int NEXT_SLOT = 17;
+
+    @Test
+    void hidesNextButtonOnLastFullPage() {
+        ItemStack nextItem = new ItemStack(Material.ARROW);
+        PaginatedGUI<Integer> gui = builder(PageSource.of(entries(18)))
+                .setNextButton(NEXT_SLOT, nextItem)
+                .build();
+        Inventory inventory = StubServer.getLastCreatedInventory();
+        Player player = StubServer.createPlayer("Pager");
+        gui.open(player);
+        assertSame(nextItem, inventory.getItem(NEXT_SLOT));
+
+        click(gui, inventory, player, NEXT_SLOT);
+        assertEquals(1, gui.getPage());
+        assertNotNull(inventory.getItem(8));
+        assertNull(inventory.getItem(NEXT_SLOT));
+
+        // The next slot is no button anymore, so clicking it has to stay on the last page
+        click(gui, inventory, player, NEXT_SLOT);
+        assertEquals(1, gui.getPage());
+    }
+
+    @Test
+    void navigatesFromShownPageWhileLoading() throws InterruptedException {
+        // Hold back the last page until the player clicked next twice
+        CountDownLatch release = new CountDownLatch(1);
+        PageSource<Integer> deferred = (offset, limit) -> {
+            if (offset == 9) {
+                try {
+                    release.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return PageSource.of(entries(18)).load(offset, limit);
+        };
+        PaginatedGUI<Integer> gui = builder(deferred).build();
+        Inventory inventory = StubServer.getLastCreatedInventory();
+        Player player = StubServer.createPlayer("Pager");
+        gui.open(player);
+        await(() -> inventory.getItem(NEXT_SLOT) != null);
+
+        click(gui, inventory, player, NEXT_SLOT);
+        click(gui, inventory, player, NEXT_SLOT);
+        assertEquals(0, gui.getPage());
+
+        release.countDown();
+        await(() -> gui.getPage() == 1);
+        assertNotNull(inventory.getItem(8));
+        assertNull(inventory.getItem(NEXT_SLOT));
+    }
+
+    @Test
+    void handlesClicksOutsideButtonsLikeGUI() {
+        PaginatedGUI<Integer> gui = builder(PageSource.of(entries(3))).build();
+        Inventory inventory = StubServer.getLastCreatedInventory();
+        Player player = StubServer.createPlayer("Pager");
+        gui.open(player);
+
+        assertTrue(click(gui, inventory, player, 0).isCancelled());
+        assertFalse(click(gui, inventory, player, 5).isCancelled());
+        assertFalse(click(gui, inventory, player, PREVIOUS_SLOT).isCancelled());
+    }
+
+    @Test
+    void showsNextButtonIfOneEntryIsLeft() {
+        PaginatedGUI<Integer> gui = builder(PageSource.of(entries(10))).build();
+        Inventory inventory = StubServer.getLastCreatedInventory();
+        gui.open(StubServer.createPlayer("Pager"));
+        assertNotNull(inventory.getItem(NEXT_SLOT));
+        assertNull(inventory.getItem(PREVIOUS_SLOT));
+    }
+
+    @Test
+    void loadsFailedPagesAgain() {
+        AtomicInteger attempts = new AtomicInteger();
+        PageSource<Integer> flaky = new PageSource<>() {
+            @Override
+            public List<Integer> load(int offset, int limit) {
+                if (offset == 0 && attempts.getAndIncrement() == 0) {
+                    throw new IllegalStateException("expected");
+                }
+                return PageSource.of(entries(5)).load(offset, limit);
+            }
+
+            @Override
+            public boolean isBlocking() {
+                return false;
+            }
+        };
+        PaginatedGUI<Integer> gui = builder(flaky).build();
+        Inventory inventory = StubServer.getLastCreatedInventory();
+        gui.open(StubServer.createPlayer("Pager"));
+        assertNull(inventory.getItem(0));
+
+        gui.showPage(0);
+        assertEquals(2, attempts.get());
+        assertNotNull(inventory.getItem(0));
+    }
+
+    @Test
+    void registersRouterOnBuild() {
+        builder(PageSource.of(entries(1))).build();
+        assertNotNull(GUIRouter.getRegisteredPlugin());
+    }
+
+    @Test
+    void rejectsSizesWithoutNavigationRow() {
+        assertThrows(IllegalArgumentException.class, () -> builder(PageSource.of(entries(1))).setSize(9).build());
+    }
+
+    /**
+     * Creates a builder of a GUI showing every entry as a stone item
+     *
+     * @param source The source of the entries
+     * @return The created builder
+     */
+    private static PaginatedGUIBuilder<Integer> builder(PageSource<Integer> source) {
+        StubServer.install();
+        Plugin plugin = StubServer.createPlugin("PaginatedGUITest");
+        return new PaginatedGUIBuilder<Integer>(plugin, source, entry -> new GUIItem(new ItemStack(Material.STONE), ItemDraggingPolicy.DRAGGING_DENIED))
+                .setSize(SIZE);
+    }
+
+    /**
+     * Waits for a page loaded in the background to be rendered
+     *
+     * @param condition The condition to wait for
+     */
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for the page to be rendered");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * @param amount The amount of entries
+     * @return The entries 0 to amount - 1
+     */
+    private static List<Integer> entries(int amount) {
+        return IntStream.range(0, amount).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * Routes a click on a slot of a GUI like the registered router would
+     *
+     * @param gui       The clicked GUI
+     * @param inventory The inventory of the GUI
+     * @param player    The clicking player
+     * @param slot      The clicked slot
+     * @return The handled click event
+     */
+    private static InventoryClickEvent click(PaginatedGUI<Integer> gui, Inventory inventory, Player player, int slot) {
+        InventoryClickEvent event = new InventoryClickEvent(new StubInventoryView(inventory, player), InventoryType.SlotType.CONTAINER, slot, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+        gui.handleClick(event);
+        return event;
+    }
+
+}
@@ -0,0 +1,112 @@
+package dev.lukaesebrot.pipe.testing;
+
+import dev.lukaesebrot.pipe.command.ArgumentTypes;
+import dev.lukaesebrot.pipe.command.Command;
+import dev.lukaesebrot.pipe.command.CommandBuilder;
+import dev.lukaesebrot.pipe.command.ExecutionHandler;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link LoadTest} against a small command tree on the stand-in server
+ *
+ * @author Lukas Schulte Pelkum
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class LoadTestTest {
+
+    @Test
+    void replaysExecutionsAndTabCompletions() {
+        LongAdder executed = new LongAdder();
+        LoadTestReport report = new LoadTestBuilder()
+                .addCommands(tree(executed))
+                .addSenders(StubServer.createPlayers(8, "Replayer", "pipe.use"))
+                .addLines("/pipe give 3", "pipe give 12")
+                .setTabCompletionRatio(0.25)
+                .setThreads(2)
+                .setWarmup(Duration.ofMillis(100))
+                .setDuration(Duration.ofMillis(300))
+                .build()
+                .run();
+
+        assertEquals(0, report.getErrors(), report::toString);
+        assertTrue(report.getExecutionLatency().getCount() > 0, report::toString);
+        assertTrue(report.getTabCompletionLatency().getCount() > 0, report::toString);
+        assertEquals(report.getExecutionLatency().getCount() + report.getTabCompletionLatency().getCount(), report.getOperations());
+        assertTrue(executed.sum() >= report.getExecutionLatency().getCount(), report::toString);
+        assertTrue(report.getThroughput() > 0, report::toString);
+        assertTrue(report.toString().contains("operations"), report::toString);
+    }
+
+    @Test
+    void paceOperationsAtTheTargetRate() {
+        LoadTestReport report = new LoadTestBuilder()
+                .addCommands(tree(new LongAdder()))
+                .addSenders(StubServer.createSender("Paced", StubServer.ALL_PERMISSIONS))
+                .addLines("pipe give 1")
+                .setThreads(2)
+                .setTargetRate(200)
+                .setWarmup(Duration.ZERO)
+                .setDuration(Duration.ofMillis(500))
+                .build()
+                .run();
+
+        // 200 operations per second over half a second, allowing for timer inaccuracy
+        assertTrue(report.getOperations() >= 80 && report.getOperations() <= 120, report::toString);
+        assertEquals(0, report.getErrors(), report::toString);
+    }
+
+    @Test
+    void countsFailedOperationsAsErrors() {
+        Command failing = new CommandBuilder("fail")
+                .addHandler(ExecutionHandler.of((command, sender, arguments) -> {
+                    throw new IllegalStateException("expected");
+                }))
+                .build();
+        LoadTestReport report = new LoadTestBuilder()
+                .addCommands(failing)
+                .addSenders(StubServer.createConsole())
+                .addLines("fail")
+                .setThreads(1)
+                .setWarmup(Duration.ZERO)
+                .setDuration(Duration.ofMillis(100))
+                .build()
+                .run();
+
+        assertTrue(report.getOperations() > 0, report::toString);
+        assertEquals(report.getOperations(), report.getErrors(), report::toString);
+    }
+
+    @Test
+    void rejectsLinesOfUnknownCommands() {
+        LoadTestBuilder builder = new LoadTestBuilder()
+                .addCommands(tree(new LongAdder()))
+                .addSenders(StubServer.createConsole())
+                .addLines("unknown");
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    /**
+     * Builds the replayed command tree
+     *
+     * @param executed The counter of executions of the give sub command
+     * @return The built root command
+     */
+    private static Command tree(LongAdder executed) {
+        return new CommandBuilder("pipe")
+                .addPermissions("pipe.use")
+                .addSubCommand(new CommandBuilder("give")
+                        .addArgument("amount", ArgumentTypes.integer(1, 64))
+                        .addHandler(ExecutionHandler.of((command, sender, arguments) -> executed.increment()))
+                        .build())
+                .build();
+    }
+
+}